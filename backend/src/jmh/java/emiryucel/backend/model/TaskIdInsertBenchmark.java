@@ -0,0 +1,102 @@
+package emiryucel.backend.model;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Batch inserts into the task table with random version 4 ids against ids from
+ * {@link TimeOrderedUuidGenerator}. The schema comes from the Flyway migrations, in an H2 file
+ * database under the temporary directory so page writes are part of the cost, and the table starts
+ * with {@code existingTasks} rows so the primary key index is deeper than one page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"random", "timeOrdered"})
+    private String ids;
+
+    @Param({"100000"})
+    private int existingTasks;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> idGenerator;
+    private long userId;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("task-id-benchmark");
+        String url = "jdbc:h2:file:" + directory.resolve("tasks");
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+        idGenerator = ids.equals("timeOrdered") ? generator::nextUuid : UUID::randomUUID;
+
+        connection = DriverManager.getConnection(url, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("insert into _user (username, role) values ('reader', 'READER')");
+            try (ResultSet user = statement.executeQuery("select id from _user")) {
+                user.next();
+                userId = user.getLong(1);
+            }
+        }
+        insert = connection.prepareStatement("insert into task "
+                + "(task_id, task_name, task_description, user_id, task_date, duration_in_hour, version) "
+                + "values (?, ?, ?, ?, ?, ?, 0)");
+        for (int i = 0; i < existingTasks; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        insert.close();
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /** One JDBC batch of {@value #BATCH_SIZE} tasks, committed as the import and seeding paths do. */
+    @Benchmark
+    public int[] insertBatch() throws SQLException {
+        Timestamp taskDate = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, idGenerator.get());
+            insert.setString(2, "Benchmark task " + i);
+            insert.setString(3, "Task used to measure primary key inserts");
+            insert.setLong(4, userId);
+            insert.setTimestamp(5, taskDate);
+            insert.setInt(6, 2 + i % 8);
+            insert.addBatch();
+        }
+        return insert.executeBatch();
+    }
+}
@@ -0,0 +1,57 @@
+package emiryucel.backend.security;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.dto.UserSummary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. With {@code cacheSize=0} every call verifies the HMAC signature,
+ * otherwise repeated calls hit {@link VerifiedTokenCache} like a client reusing its token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    @Param({"0", "10000"})
+    private int cacheSize;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private UserSummary user;
+    private AuthenticatedUser principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(new VerifiedTokenCache(cacheSize));
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret",
+                "YourVerySecureAndLongSecretKeyThatIsAtLeast32CharactersLongForHS256Algorithm");
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", 86400000L);
+        jwtTokenProvider.init();
+
+        user = new UserSummary(1L, "reader", Role.READER, 0);
+        principal = AuthenticatedUser.fromUser(user);
+        token = jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtTokenProvider.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtTokenProvider.isTokenValid(token, principal);
+    }
+}
@@ -0,0 +1,46 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.Task;
+import emiryucel.backend.model.User;
+import emiryucel.backend.model.dto.TaskResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder()
+                .id(1L)
+                .username("reader")
+                .password("unused")
+                .role(Role.READER)
+                .build();
+        task = Task.builder()
+                .taskId(UUID.randomUUID())
+                .taskName("Benchmark task")
+                .taskDescription("Task used to measure entity to response mapping")
+                .user(user)
+                .taskDate(LocalDateTime.now())
+                .durationInHour(4)
+                .version(0L)
+                .build();
+    }
+
+    @Benchmark
+    public TaskResponse mapTaskToResponse() {
+        return TaskServiceImpl.mapTaskToResponse(task);
+    }
+}
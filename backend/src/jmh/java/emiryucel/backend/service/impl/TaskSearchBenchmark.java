@@ -0,0 +1,87 @@
+package emiryucel.backend.service.impl;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of {@link TaskTextIndex}. Searches are scoped to one owner's index, so
+ * {@code tasks=1000000} is the worst case of a single user owning a million tasks. Words are drawn
+ * from a Zipf-distributed vocabulary, as in natural text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+
+    @Param({"1000", "1000000"})
+    private int tasks;
+
+    private TaskTextIndex index;
+    private String[] vocabulary;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            vocabulary[i] = word(random);
+        }
+        double[] cumulative = new double[VOCABULARY_SIZE];
+        double sum = 0;
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+
+        index = new TaskTextIndex();
+        for (int i = 0; i < tasks; i++) {
+            index.put(UUID.randomUUID(), 0, text(random, cumulative, sum, 2 + random.nextInt(4)),
+                    text(random, cumulative, sum, 5 + random.nextInt(25)));
+        }
+    }
+
+    /** A mid-frequency word, matching roughly 0.1% of tasks. */
+    @Benchmark
+    public TaskTextIndex.Result exactTerm() {
+        return index.search(vocabulary[100], 20);
+    }
+
+    /** Two common words that both have to match. */
+    @Benchmark
+    public TaskTextIndex.Result twoTerms() {
+        return index.search(vocabulary[3] + " " + vocabulary[10], 20);
+    }
+
+    /** Search-as-you-type: a two letter prefix expanding to many terms. */
+    @Benchmark
+    public TaskTextIndex.Result shortPrefix() {
+        return index.search(vocabulary[0].substring(0, 2), 20);
+    }
+
+    private String text(Random random, double[] cumulative, double sum, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            text.append(vocabulary[rank < 0 ? -rank - 1 : rank]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static String word(Random random) {
+        int length = 3 + random.nextInt(8);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
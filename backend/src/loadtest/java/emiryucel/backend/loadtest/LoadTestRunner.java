@@ -0,0 +1,501 @@
+package emiryucel.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import emiryucel.backend.BackendApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Starts the application in-process with the {@code seed} profile and drives it over HTTP with a
+ * fixed number of virtual users. Each user logs in as a random seeded account and then issues a
+ * weighted mix of list, search, detail, create, update and delete requests. Latency percentiles and
+ * throughput per operation are printed and written as JSON.
+ *
+ * <p>Options are ordinary Spring properties, e.g. {@code --loadtest.virtual-users=100
+ * --seed.users=10000}. Each virtual user draws from its own fixed-seed random, so the request mix
+ * is repeatable run over run.
+ *
+ * <p>{@code --loadtest.scenario=import} replaces the mix: each virtual user posts NDJSON files of
+ * {@code loadtest.import-records} tasks to {@code /tasks/import}, and imported rows per second are
+ * reported alongside the request latencies.
+ *
+ * <p>{@code --loadtest.scenario=sse-idle} is a soak of idle change streams: each virtual user opens
+ * {@code /tasks/stream} and only reads heartbeats. Streams are opened at
+ * {@code loadtest.sse-ramp-per-second} during the warmup, and seeded users share one login each.
+ * The report adds the streams still open, the streams dropped and the heartbeats received during
+ * the measurement, with the heap and thread count of the process. Every stream holds a socket at
+ * both ends, so the open-files limit has to exceed twice the number of virtual users.
+ */
+public final class LoadTestRunner {
+
+    private static final String[] OPERATIONS = {"login", "list", "search", "detail", "create", "update", "delete", "import", "stream"};
+    private static final String[] SEARCH_QUERIES = {"report", "review quarterly", "rel", "database backup", "fix login"};
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Histogram> latencies = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errors = new LinkedHashMap<>();
+    private final LongAdder importedRows = new LongAdder();
+    private final Map<String, CompletableFuture<String>> sharedTokens = new ConcurrentHashMap<>();
+    private final Set<Closeable> openStreams = ConcurrentHashMap.newKeySet();
+    private final LongAdder droppedStreams = new LongAdder();
+    private final LongAdder heartbeats = new LongAdder();
+    private volatile int streamsOpenAtEnd;
+
+    private final String baseUrl;
+    private final int seededUsers;
+    private final String usernamePrefix;
+    private final String password;
+    private final int requestsPerSession;
+    private final long randomSeed;
+    private final String scenario;
+    private final int importRecords;
+    private final int sseRampPerSecond;
+
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    private LoadTestRunner(String baseUrl, Environment environment) {
+        this.baseUrl = baseUrl;
+        this.seededUsers = environment.getProperty("seed.users", Integer.class, 1000);
+        this.usernamePrefix = environment.getProperty("seed.username-prefix", "user");
+        this.password = environment.getProperty("seed.password", "password123");
+        this.requestsPerSession = environment.getProperty("loadtest.requests-per-session", Integer.class, 20);
+        this.randomSeed = environment.getProperty("seed.random-seed", Long.class, 42L);
+        this.scenario = environment.getProperty("loadtest.scenario", "mixed");
+        this.importRecords = environment.getProperty("loadtest.import-records", Integer.class, 5000);
+        this.sseRampPerSecond = environment.getProperty("loadtest.sse-ramp-per-second", Integer.class, 500);
+        for (String operation : OPERATIONS) {
+            // Microsecond resolution, up to one minute.
+            latencies.put(operation, new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // System properties outrank application.properties: pick a free port and skip the actuator.
+        setIfAbsent("server.port", "0");
+        setIfAbsent("management.server.port", "-1");
+        setIfAbsent("logging.level.root", "WARN");
+
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        application.setAdditionalProfiles("seed");
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            Environment environment = context.getEnvironment();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String contextPath = environment.getProperty("server.servlet.context-path", "");
+
+            LoadTestRunner runner = new LoadTestRunner("http://localhost:" + port + contextPath, environment);
+            int virtualUsers = environment.getProperty("loadtest.virtual-users", Integer.class, 50);
+            int warmupSeconds = environment.getProperty("loadtest.warmup-seconds", Integer.class, 10);
+            int durationSeconds = environment.getProperty("loadtest.duration-seconds", Integer.class, 60);
+            Path resultFile = Path.of(environment.getProperty("loadtest.result-file", "target/loadtest-result.json"));
+
+            runner.run(virtualUsers, warmupSeconds, durationSeconds);
+            runner.report(virtualUsers, durationSeconds, resultFile);
+        }
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private void run(int virtualUsers, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        System.out.println("Running " + virtualUsers + " virtual users (" + scenario + ") against " + baseUrl
+                + " (warmup " + warmupSeconds + "s, measure " + durationSeconds + "s)");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < virtualUsers; i++) {
+                long userSeed = randomSeed + i;
+                int index = i;
+                executor.submit(() -> {
+                    switch (scenario) {
+                        case "mixed" -> virtualUser(new Random(userSeed));
+                        case "import" -> importer(new Random(userSeed));
+                        case "sse-idle" -> idleSubscriber(index);
+                        default -> throw new IllegalArgumentException("Unknown load test scenario: " + scenario);
+                    }
+                });
+            }
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            recording = true;
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            recording = false;
+            streamsOpenAtEnd = openStreams.size();
+            running = false;
+            // Idle streams would otherwise only notice at their next heartbeat.
+            closeStreams();
+        }
+    }
+
+    private void virtualUser(Random random) {
+        while (running) {
+            String token = login(usernamePrefix + (1 + random.nextInt(seededUsers)));
+            if (token == null) {
+                continue;
+            }
+            List<String> listedIds = new ArrayList<>();
+            List<String> createdIds = new ArrayList<>();
+            for (int i = 0; i < requestsPerSession && running; i++) {
+                int roll = random.nextInt(100);
+                if (roll < 5) {
+                    search(token, random);
+                } else if (roll < 40 || (roll < 65 && listedIds.isEmpty())) {
+                    list(token, random, listedIds);
+                } else if (roll < 65) {
+                    detail(token, listedIds.get(random.nextInt(listedIds.size())));
+                } else if (roll < 80 || (roll < 90 && listedIds.isEmpty()) || createdIds.isEmpty()) {
+                    create(token, random, createdIds);
+                } else if (roll < 90) {
+                    update(token, random, listedIds.get(random.nextInt(listedIds.size())));
+                } else {
+                    String taskId = createdIds.remove(createdIds.size() - 1);
+                    listedIds.remove(taskId);
+                    delete(token, taskId);
+                }
+            }
+        }
+    }
+
+    private void importer(Random random) {
+        while (running) {
+            String token = login(usernamePrefix + (1 + random.nextInt(seededUsers)));
+            if (token == null) {
+                continue;
+            }
+            for (int i = 0; i < requestsPerSession && running; i++) {
+                importTasks(token, random);
+            }
+        }
+    }
+
+    private void idleSubscriber(int index) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(index * 1000L / sseRampPerSecond);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        String username = usernamePrefix + (1 + index % seededUsers);
+        while (running) {
+            String token = sharedToken(username);
+            if (token == null || !subscribe(token)) {
+                pause();
+            }
+        }
+    }
+
+    // One login per seeded user, however many streams it opens.
+    private String sharedToken(String username) {
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> token = sharedTokens.putIfAbsent(username, created);
+        if (token == null) {
+            token = created;
+            created.complete(login(username));
+        }
+        String value = token.join();
+        if (value == null) {
+            sharedTokens.remove(username, token);
+        }
+        return value;
+    }
+
+    /**
+     * Holds one stream open until the run ends, counting heartbeats. Returns false when it could
+     * not be opened.
+     */
+    private boolean subscribe(String token) {
+        HttpRequest request = authorized(URI.create(baseUrl + "/tasks/stream"), token)
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            recordOpen(start, false);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        InputStream body = response.body();
+        recordOpen(start, response.statusCode() == 200);
+        if (response.statusCode() != 200) {
+            closeQuietly(body);
+            return false;
+        }
+
+        openStreams.add(body);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while (running && (line = reader.readLine()) != null) {
+                if (recording && line.startsWith(":")) {
+                    heartbeats.increment();
+                }
+            }
+        } catch (IOException e) {
+            // Reported as a drop below unless the run is ending.
+        } finally {
+            openStreams.remove(body);
+        }
+        if (running && recording) {
+            droppedStreams.increment();
+        }
+        return true;
+    }
+
+    // Open latencies are kept from the start: the streams are opened during the warmup.
+    private void recordOpen(long startNanos, boolean success) {
+        latencies.get("stream").recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        if (!success) {
+            errors.get("stream").increment();
+        }
+    }
+
+    private void closeStreams() {
+        openStreams.forEach(LoadTestRunner::closeQuietly);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Already closed by the server.
+        }
+    }
+
+    private void pause() {
+        try {
+            TimeUnit.SECONDS.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private String login(String username) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        JsonNode response = send("login", post("/auth/login", null, body), 200);
+        return response != null ? response.path("token").asText(null) : null;
+    }
+
+    private void list(String token, Random random, List<String> listedIds) {
+        String[] sorts = {"taskDate", "taskName", "durationInHour"};
+        String path = "/tasks?page=" + random.nextInt(5) + "&size=20&sort=" + sorts[random.nextInt(sorts.length)];
+        JsonNode response = send("list", get(path, token), 200);
+        if (response != null) {
+            listedIds.clear();
+            response.path("content").forEach(task -> listedIds.add(task.path("taskId").asText()));
+        }
+    }
+
+    private void search(String token, Random random) {
+        String query = SEARCH_QUERIES[random.nextInt(SEARCH_QUERIES.length)].replace(" ", "+");
+        send("search", get("/tasks/search?q=" + query + "&size=20", token), 200);
+    }
+
+    private void detail(String token, String taskId) {
+        send("detail", get("/tasks/" + taskId, token), 200);
+    }
+
+    private void create(String token, Random random, List<String> createdIds) {
+        JsonNode response = send("create", post("/tasks", token, taskBody(random)), 201);
+        if (response != null) {
+            createdIds.add(response.path("taskId").asText());
+        }
+    }
+
+    private void importTasks(String token, Random random) {
+        StringBuilder body = new StringBuilder(importRecords * 160);
+        for (int i = 0; i < importRecords; i++) {
+            body.append(taskBody(random)).append('\n');
+        }
+        HttpRequest request = authorized(URI.create(baseUrl + "/tasks/import?format=ndjson"), token)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        JsonNode response = send("import", request, 200);
+        if (response != null && recording) {
+            importedRows.add(response.path("imported").asLong());
+        }
+    }
+
+    private void update(String token, Random random, String taskId) {
+        HttpRequest request = authorized(URI.create(baseUrl + "/tasks/" + taskId), token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(taskBody(random)))
+                .build();
+        send("update", request, 200);
+    }
+
+    private void delete(String token, String taskId) {
+        send("delete", authorized(URI.create(baseUrl + "/tasks/" + taskId), token).DELETE().build(), 204);
+    }
+
+    private String taskBody(Random random) {
+        return "{\"taskName\":\"Load test task " + random.nextInt(1_000_000) + "\","
+                + "\"taskDescription\":\"Created by the load test scenario.\","
+                + "\"taskDate\":\"" + LocalDateTime.now().plusDays(random.nextInt(30)).withNano(0) + "\","
+                + "\"durationInHour\":" + (2 + random.nextInt(8)) + "}";
+    }
+
+    private HttpRequest get(String path, String token) {
+        return authorized(URI.create(baseUrl + path), token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return authorized(URI.create(baseUrl + path), token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(URI uri, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30));
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    /**
+     * Sends the request and records its latency. Returns the parsed body, or null when the status
+     * was not the expected one or the body was empty.
+     */
+    private JsonNode send(String operation, HttpRequest request, int expectedStatus) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            record(operation, start, response.statusCode() == expectedStatus);
+            if (response.statusCode() != expectedStatus || response.body().length == 0) {
+                return null;
+            }
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            record(operation, start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return null;
+        }
+    }
+
+    private void record(String operation, long startNanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    private void report(int virtualUsers, int durationSeconds, Path resultFile) throws IOException {
+        ObjectNode result = objectMapper.createObjectNode()
+                .put("scenario", scenario)
+                .put("virtualUsers", virtualUsers)
+                .put("durationSeconds", durationSeconds);
+        ObjectNode operations = result.putObject("operations");
+
+        System.out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        long totalCount = 0;
+        for (String operation : OPERATIONS) {
+            Histogram histogram = latencies.get(operation);
+            long count = histogram.getTotalCount();
+            long errorCount = errors.get(operation).sum();
+            if (count == 0 && errorCount == 0) {
+                continue;
+            }
+            double throughput = (double) count / durationSeconds;
+            totalCount += count;
+
+            operations.putObject(operation)
+                    .put("count", count)
+                    .put("errors", errorCount)
+                    .put("throughput", throughput)
+                    .put("p50", millis(histogram, 50))
+                    .put("p90", millis(histogram, 90))
+                    .put("p95", millis(histogram, 95))
+                    .put("p99", millis(histogram, 99))
+                    .put("max", histogram.getMaxValue() / 1000.0);
+            System.out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", operation, count, errorCount,
+                    throughput, millis(histogram, 50), millis(histogram, 90), millis(histogram, 95),
+                    millis(histogram, 99), histogram.getMaxValue() / 1000.0);
+        }
+        result.put("throughput", (double) totalCount / durationSeconds);
+        System.out.printf("total    %9d %17.1f req/s%n", totalCount, (double) totalCount / durationSeconds);
+        if (scenario.equals("sse-idle")) {
+            reportStreams(result);
+        }
+        if (importedRows.sum() > 0) {
+            result.put("importedRows", importedRows.sum())
+                    .put("importedRowsPerSecond", (double) importedRows.sum() / durationSeconds);
+            System.out.printf("imported %9d %17.1f rows/s%n", importedRows.sum(), (double) importedRows.sum() / durationSeconds);
+        }
+
+        if (resultFile.getParent() != null) {
+            Files.createDirectories(resultFile.getParent());
+        }
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile.toFile(), result);
+        System.out.println("Results written to " + resultFile.toAbsolutePath());
+    }
+
+    // Measured in this process, so the heap and threads include the load generator's side.
+    private void reportStreams(ObjectNode result) {
+        System.gc();
+        long heapMegabytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024);
+        int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        result.putObject("streams")
+                .put("open", streamsOpenAtEnd)
+                .put("dropped", droppedStreams.sum())
+                .put("heartbeats", heartbeats.sum())
+                .put("heapUsedMegabytes", heapMegabytes)
+                .put("threads", threads);
+        System.out.printf("streams  %9d open %7d dropped %9d heartbeats, heap %d MB, %d threads%n",
+                streamsOpenAtEnd, droppedStreams.sum(), heartbeats.sum(), heapMegabytes, threads);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -1,8 +1,12 @@
 package emiryucel.backend.config;
 
 import emiryucel.backend.repository.UserRepository;
+import emiryucel.backend.service.TaskStreamService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -13,18 +17,29 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class AppConfig {
 
     private final UserRepository userRepository;
+    private final int bcryptStrength;
 
-    public AppConfig(UserRepository userRepository) {
+    public AppConfig(UserRepository userRepository, @Value("${security.bcrypt.strength:10}") int bcryptStrength) {
         this.userRepository = userRepository;
+        this.bcryptStrength = bcryptStrength;
     }
+    // Under the lazy profile the stream service is still created at startup, so its heartbeat runs and
+    // its subscriber gauge is exported before the first subscription.
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(TaskStreamService.class);
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
+    // Only password logins use this; they read the row itself since the users cache holds no credentials.
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> userRepository.findByUsername(username)
@@ -0,0 +1,36 @@
+package emiryucel.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS_CACHE = "users";
+    public static final String TASKS_CACHE = "tasks";
+    public static final String TOKEN_VERSIONS_CACHE = "tokenVersions";
+
+    /**
+     * Gives the task cache its own bounds when Caffeine backs the cache abstraction. Other
+     * providers (e.g. {@code spring.cache.type=redis}, or {@code simple} in tests) configure
+     * their caches through their own {@code spring.cache.*} properties instead.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> taskCacheCustomizer(@Value("${tasks.cache.spec}") String taskCacheSpec) {
+        return cacheManager -> cacheManager.registerCustomCache(TASKS_CACHE, Caffeine.from(taskCacheSpec).build());
+    }
+
+    /**
+     * Token versions are read on every authenticated request, so they get a cache of their own that
+     * outlives the users cache; its expiry bounds how long a revocation on another instance goes unseen.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> tokenVersionCacheCustomizer(@Value("${jwt.token-versions.cache.spec}") String tokenVersionCacheSpec) {
+        return cacheManager -> cacheManager.registerCustomCache(TOKEN_VERSIONS_CACHE, Caffeine.from(tokenVersionCacheSpec).build());
+    }
+}
@@ -5,8 +5,10 @@ import emiryucel.backend.model.Task;
 import emiryucel.backend.model.User;
 import emiryucel.backend.repository.TaskRepository;
 import emiryucel.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,15 +17,21 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Component
+@Order(1)
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
+    // BCrypt hashes (cost 10) of "admin123" and "reader123". Hashing them here instead would add a
+    // few hundred milliseconds to every start; BCrypt matching reads the cost from the hash itself.
+    private static final String ADMIN_PASSWORD_HASH = "$2a$10$0FPwDxNfixDm6Au2Wvh3B.ZFBiJje6Xd2X2lbw6TFNov60BGdkzJ2";
+    private static final String READER_PASSWORD_HASH = "$2a$10$dGUKNvHVENXYI87qoPoOjuVQzL6GRrEmQcHrONZOJy3hZ6m4vjFaa";
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
     private final TaskRepository taskRepository;
 
-    public DataInitializer(UserRepository userRepository, PasswordEncoder passwordEncoder, TaskRepository taskRepository) {
+    public DataInitializer(UserRepository userRepository, TaskRepository taskRepository) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
         this.taskRepository = taskRepository;
     }
 
@@ -33,18 +41,18 @@ public class DataInitializer implements CommandLineRunner {
         if (userRepository.count() == 0) {
             User adminUser = User.builder()
                 .username("admin")
-                .password(passwordEncoder.encode("admin123"))
+                .password(ADMIN_PASSWORD_HASH)
                 .role(Role.ADMIN)
                 .build();
 
             User readerUser = User.builder()
                 .username("reader")
-                .password(passwordEncoder.encode("reader123"))
+                .password(READER_PASSWORD_HASH)
                 .role(Role.READER)
                 .build();
             
             userRepository.saveAll(List.of(adminUser, readerUser));
-            System.out.println("Initial users created: admin and reader");
+            log.info("Initial users created: admin and reader");
 
             if (taskRepository.count() == 0) {
                 List<Task> readerTasks = new ArrayList<>();
@@ -59,7 +67,7 @@ public class DataInitializer implements CommandLineRunner {
                     readerTasks.add(task);
                 }
                 taskRepository.saveAll(readerTasks);
-                System.out.println("Created " + readerTasks.size() + " initial tasks for user: reader");
+                log.info("Created {} initial tasks for user: reader", readerTasks.size());
             }
         }
     }
@@ -0,0 +1,178 @@
+package emiryucel.backend.config;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.TimeOrderedUuidGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generates a large dataset for load testing when the {@code seed} profile is active. Rows are
+ * written with plain JDBC batches, bypassing the persistence context and the caches, which are
+ * empty at startup anyway.
+ */
+@Component
+@Profile("seed")
+@Order(2)
+public class DataSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    private static final String[] VERBS = {
+            "Review", "Prepare", "Update", "Write", "Plan", "Fix", "Test", "Deploy", "Refactor", "Document"
+    };
+    private static final String[] SUBJECTS = {
+            "quarterly report", "release notes", "login page", "database backup", "team meeting",
+            "onboarding guide", "invoice batch", "API contract", "search index", "customer feedback"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final TimeOrderedUuidGenerator uuidGenerator = new TimeOrderedUuidGenerator();
+
+    private final int userCount;
+    private final int tasksPerUser;
+    private final double skew;
+    private final int batchSize;
+    private final String usernamePrefix;
+    private final String password;
+    private final long randomSeed;
+
+    public DataSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+                      @Value("${seed.users:1000}") int userCount,
+                      @Value("${seed.tasks-per-user:100}") int tasksPerUser,
+                      @Value("${seed.skew:0.8}") double skew,
+                      @Value("${seed.batch-size:5000}") int batchSize,
+                      @Value("${seed.username-prefix:user}") String usernamePrefix,
+                      @Value("${seed.password:password123}") String password,
+                      @Value("${seed.random-seed:42}") long randomSeed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.userCount = userCount;
+        this.tasksPerUser = tasksPerUser;
+        this.skew = skew;
+        this.batchSize = batchSize;
+        this.usernamePrefix = usernamePrefix;
+        this.password = password;
+        this.randomSeed = randomSeed;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (userCount <= 0) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Random random = new Random(randomSeed);
+
+        List<Long> userIds = insertUsers();
+        int[] taskCounts = taskCounts(userIds.size(), (long) userIds.size() * tasksPerUser);
+        long taskTotal = insertTasks(userIds, taskCounts, random);
+
+        log.info("Seeded {} users and {} tasks in {} ms", userIds.size(), taskTotal, System.currentTimeMillis() - start);
+    }
+
+    private List<Long> insertUsers() {
+        // One hash for every seeded user; BCrypt per user would dominate the seeding time.
+        String encodedPassword = passwordEncoder.encode(password);
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 1; i <= userCount; i++) {
+            rows.add(new Object[]{usernamePrefix + i, encodedPassword, Role.READER.name()});
+            if (rows.size() == batchSize) {
+                jdbcTemplate.batchUpdate("insert into _user (username, password, role) values (?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into _user (username, password, role) values (?, ?, ?)", rows);
+        }
+        return jdbcTemplate.queryForList("select id from _user where username like ? order by id",
+                Long.class, usernamePrefix + "%");
+    }
+
+    /**
+     * Splits the total over the users along a Zipf curve, so a few users own most tasks like in a
+     * real tenant mix. A skew of 0 gives every user the same count.
+     */
+    private int[] taskCounts(int users, long total) {
+        double[] weights = new double[users];
+        double weightSum = 0;
+        for (int i = 0; i < users; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, skew);
+            weightSum += weights[i];
+        }
+        int[] counts = new int[users];
+        long assigned = 0;
+        for (int i = 0; i < users; i++) {
+            counts[i] = (int) (total * weights[i] / weightSum);
+            assigned += counts[i];
+        }
+        for (int i = 0; assigned < total; i = (i + 1) % users, assigned++) {
+            counts[i]++;
+        }
+        return counts;
+    }
+
+    private long insertTasks(List<Long> userIds, int[] taskCounts, Random random) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        long total = 0;
+        for (int u = 0; u < userIds.size(); u++) {
+            Long userId = userIds.get(u);
+            for (int t = 0; t < taskCounts[u]; t++) {
+                rows.add(taskRow(userId, now, random));
+                if (rows.size() == batchSize) {
+                    total += flushTasks(rows);
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            total += flushTasks(rows);
+        }
+        return total;
+    }
+
+    private Object[] taskRow(Long userId, LocalDateTime now, Random random) {
+        UUID taskId = uuidGenerator.nextUuid();
+        String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+        String taskName = VERBS[random.nextInt(VERBS.length)] + " " + subject;
+        String taskDescription = description(subject, random);
+        // Most tasks sit within a few weeks of today, with a long tail into the past and future.
+        long offsetMinutes = (long) (random.nextGaussian() * 21 * 24 * 60);
+        Timestamp taskDate = Timestamp.valueOf(now.plusMinutes(offsetMinutes));
+        // Short tasks dominate; roughly geometric above the 2 hour minimum.
+        int durationInHour = 2 + (int) Math.min(38, -Math.log(1 - random.nextDouble()) * 3);
+        return new Object[]{taskId, taskName, taskDescription, userId, taskDate, durationInHour};
+    }
+
+    private String description(String subject, Random random) {
+        StringBuilder description = new StringBuilder("Work on the ").append(subject).append('.');
+        int sentences = random.nextInt(6);
+        for (int i = 0; i < sentences; i++) {
+            description.append(" Follow up on ").append(SUBJECTS[random.nextInt(SUBJECTS.length)]).append('.');
+        }
+        return description.length() > 255 ? description.substring(0, 255) : description.toString();
+    }
+
+    private int flushTasks(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("insert into task (task_id, task_name, task_description, user_id, task_date, "
+                + "duration_in_hour, version) values (?, ?, ?, ?, ?, ?, 0)", rows);
+        int flushed = rows.size();
+        rows.clear();
+        return flushed;
+    }
+}
@@ -0,0 +1,84 @@
+package emiryucel.backend.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Read-through view of a Spring {@link Cache} whose values are loaded outside the transactions that
+ * change them. Evictions wait until the writing transaction has committed, and a value whose load
+ * overlapped an eviction of its key is removed again, so a reader that saw the old row cannot put
+ * it back after the writer's eviction.
+ */
+public class GuardedCache {
+
+    private static final int STRIPES = 64;
+
+    private final Cache cache;
+    // Bumped by every eviction before it reaches the cache; striped so unrelated keys rarely collide.
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public GuardedCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public <T> T get(Object key, Class<T> type) {
+        return cache.get(key, type);
+    }
+
+    /**
+     * Returns the cached value or loads it. Null results are not cached.
+     */
+    public <T> T get(Object key, Class<T> type, Supplier<T> loader) {
+        T cached = cache.get(key, type);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(key);
+        long generation = generations.get(stripe);
+        T value = loader.get();
+        if (value != null) {
+            cache.put(key, value);
+            if (generations.get(stripe) != generation) {
+                cache.evict(key);
+            }
+        }
+        return value;
+    }
+
+    public void evict(Object key) {
+        afterCommit(() -> {
+            generations.incrementAndGet(stripe(key));
+            cache.evict(key);
+        });
+    }
+
+    public void clear() {
+        afterCommit(() -> {
+            for (int i = 0; i < STRIPES; i++) {
+                generations.incrementAndGet(i);
+            }
+            cache.clear();
+        });
+    }
+
+    private static int stripe(Object key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
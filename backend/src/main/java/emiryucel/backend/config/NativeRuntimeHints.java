@@ -0,0 +1,23 @@
+package emiryucel.backend.config;
+
+import emiryucel.backend.model.dto.TaskResponse;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * What AOT processing cannot infer for the native image: classes created by name or by Hibernate
+ * constructor expressions, and resources read by libraries.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Hibernate's JCache regions, configured by provider class name and config file.
+        hints.resources().registerPattern("hibernate-cache.conf");
+        hints.reflection().registerTypeIfPresent(classLoader, "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        // "select new" queries and the Criteria listing build responses through this constructor.
+        hints.reflection().registerType(TaskResponse.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
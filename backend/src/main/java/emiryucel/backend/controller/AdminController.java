@@ -0,0 +1,63 @@
+package emiryucel.backend.controller;
+
+import emiryucel.backend.model.dto.CacheRegionStatsResponse;
+import emiryucel.backend.model.dto.CacheStatsResponse;
+import emiryucel.backend.model.dto.TaskFilter;
+import emiryucel.backend.model.dto.TaskSliceResponse;
+import emiryucel.backend.security.AuthenticatedUser;
+import emiryucel.backend.service.CacheStatsService;
+import emiryucel.backend.service.TaskService;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class AdminController {
+
+    private final CacheStatsService cacheStatsService;
+    private final TaskService taskService;
+
+    public AdminController(CacheStatsService cacheStatsService, TaskService taskService) {
+        this.cacheStatsService = cacheStatsService;
+        this.taskService = taskService;
+    }
+
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getCacheStats());
+    }
+
+    @GetMapping("/caches/regions")
+    public ResponseEntity<List<CacheRegionStatsResponse>> getRegionStats() {
+        return ResponseEntity.ok(cacheStatsService.getRegionStats());
+    }
+
+    @GetMapping("/tasks")
+    public ResponseEntity<TaskSliceResponse> getAllUsersTasks(@RequestParam(required = false) String owner,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                              @RequestParam(required = false) Integer minDuration,
+                                                              @RequestParam(required = false) Integer maxDuration,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "20") int size,
+                                                              Sort sort,
+                                                              @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        TaskFilter filter = TaskFilter.builder()
+                .owner(owner)
+                .from(from)
+                .to(to)
+                .minDuration(minDuration)
+                .maxDuration(maxDuration)
+                .build();
+        TaskSliceResponse tasks = taskService.getAllUsersTasksAfter(currentUser.getUsername(), filter, sort, cursor, size);
+        return ResponseEntity.ok(tasks);
+    }
+}
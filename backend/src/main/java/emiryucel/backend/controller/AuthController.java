@@ -2,9 +2,11 @@ package emiryucel.backend.controller;
 
 import emiryucel.backend.model.dto.LoginRequest;
 import emiryucel.backend.model.dto.LoginResponse;
+import emiryucel.backend.security.AuthenticatedUser;
 import emiryucel.backend.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -22,4 +24,12 @@ public class AuthController {
         LoginResponse response = authService.login(loginRequest);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser != null) {
+            authService.logout(currentUser.getUsername());
+        }
+        return ResponseEntity.noContent().build();
+    }
 } 
\ No newline at end of file
@@ -1,21 +1,41 @@
 package emiryucel.backend.controller;
 
-import emiryucel.backend.model.Role;
-import emiryucel.backend.model.User;
+import emiryucel.backend.model.TaskFileFormat;
+import emiryucel.backend.model.TaskStatsGranularity;
+import emiryucel.backend.model.dto.BatchTaskResponse;
+import emiryucel.backend.model.dto.BatchTaskUpdateRequest;
+import emiryucel.backend.model.dto.BulkDeleteRequest;
+import emiryucel.backend.model.dto.BulkDeleteResponse;
+import emiryucel.backend.model.dto.TaskImportResponse;
 import emiryucel.backend.model.dto.TaskRequest;
 import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.model.dto.TaskSearchResponse;
+import emiryucel.backend.model.dto.TaskSliceResponse;
+import emiryucel.backend.model.dto.TaskStatsResponse;
+import emiryucel.backend.security.AuthenticatedUser;
 import emiryucel.backend.service.TaskService;
+import emiryucel.backend.service.TaskStreamService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -23,46 +43,207 @@ import java.util.UUID;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskStreamService taskStreamService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskStreamService taskStreamService) {
         this.taskService = taskService;
+        this.taskStreamService = taskStreamService;
     }
 
     @PostMapping
-    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest taskRequest,@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest taskRequest,
+                                                   @RequestParam(defaultValue = "false") boolean rejectConflicts,
+                                                   @AuthenticationPrincipal AuthenticatedUser currentUser) {
         String username = currentUser.getUsername();
-        TaskResponse createdTask = taskService.createTask(taskRequest, username);
-        return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
+        TaskResponse createdTask = taskService.createTask(taskRequest, username, rejectConflicts);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(eTag(createdTask.getVersion()))
+                .body(createdTask);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTaskResponse> createTasks(@RequestBody List<TaskRequest> taskRequests,@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        String username = currentUser.getUsername();
+        BatchTaskResponse result = taskService.createTasks(taskRequests, username);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<TaskImportResponse> importTasks(@RequestParam(defaultValue = "ndjson") String format, InputStream body,
+                                                          @AuthenticationPrincipal AuthenticatedUser currentUser) throws IOException {
+        TaskFileFormat fileFormat = TaskFileFormat.fromExtension(format);
+        String username = currentUser.getUsername();
+        TaskImportResponse result = taskService.importTasks(body, fileFormat, username);
+        return ResponseEntity.ok(result);
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<BatchTaskResponse> updateTasks(@RequestBody List<BatchTaskUpdateRequest> updateRequests,@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        String username = currentUser.getUsername();
+        BatchTaskResponse result = taskService.updateTasks(updateRequests, username);
+        return ResponseEntity.ok(result);
     }
 
     @PutMapping("/{taskId}")
-    public ResponseEntity<TaskResponse> updateTask(@PathVariable UUID taskId, @Valid @RequestBody TaskRequest taskRequest,@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<TaskResponse> updateTask(@PathVariable UUID taskId, @Valid @RequestBody TaskRequest taskRequest,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestParam(defaultValue = "false") boolean rejectConflicts,
+                                                   @AuthenticationPrincipal AuthenticatedUser currentUser) {
 
         String username = currentUser.getUsername();
-        TaskResponse updatedTask = taskService.updateTask(taskId, taskRequest, username);
-        return ResponseEntity.ok(updatedTask);
+        TaskResponse updatedTask = taskService.updateTask(taskId, taskRequest, username, parseIfMatch(ifMatch), rejectConflicts);
+        return ResponseEntity.ok()
+                .eTag(eTag(updatedTask.getVersion()))
+                .body(updatedTask);
     }
 
     @DeleteMapping("/{taskId}")
-    public ResponseEntity<Void> deleteTask(@PathVariable UUID taskId,@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<Void> deleteTask(@PathVariable UUID taskId,@AuthenticationPrincipal AuthenticatedUser currentUser) {
         String username = currentUser.getUsername();
         taskService.deleteTask(taskId, username);
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkDeleteResponse> deleteTasks(@RequestBody BulkDeleteRequest deleteRequest,@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        String username = currentUser.getUsername();
+        BulkDeleteResponse result = taskService.deleteTasks(deleteRequest, username);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{taskId}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable UUID taskId,@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable UUID taskId,@AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                    WebRequest request) {
         String username = currentUser.getUsername();
         TaskResponse task = taskService.getTaskById(taskId, username);
-        return ResponseEntity.ok(task);
+        String eTag = eTag(task.getVersion());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(task);
     }
 
+    // The collection version is read before the page query, so a 304 costs no query at all.
     @GetMapping
-    public ResponseEntity<Page<TaskResponse>> getAllTasks(Pageable pageable,@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<Page<TaskResponse>> getAllTasks(Pageable pageable,@AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                          WebRequest request) {
         String username = currentUser.getUsername();
+        String eTag = eTag(taskService.getCollectionVersion(username));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         Page<TaskResponse> tasks = taskService.getAllTasks(username, pageable);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(tasks);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format,@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        TaskFileFormat fileFormat = TaskFileFormat.fromExtension(format);
+        String username = currentUser.getUsername();
+        StreamingResponseBody body = outputStream -> taskService.exportTasks(username, fileFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(fileFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + fileFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return taskStreamService.subscribe(currentUser.getUsername());
+    }
+
+    @GetMapping("/range")
+    public ResponseEntity<List<TaskResponse>> getTasksInRange(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                              @RequestParam(defaultValue = "100") int size,
+                                                              @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        String username = currentUser.getUsername();
+        List<TaskResponse> tasks = taskService.getTasksInRange(username, from, to, size);
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping("/conflicts")
+    public ResponseEntity<List<TaskResponse>> getConflicts(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime taskDate,
+                                                           @RequestParam int durationInHour,
+                                                           @RequestParam(required = false) UUID excludeTaskId,
+                                                           @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        String username = currentUser.getUsername();
+        List<TaskResponse> conflicts = taskService.getConflicts(username, taskDate, durationInHour, excludeTaskId);
+        return ResponseEntity.ok(conflicts);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getTaskStats(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                          @RequestParam(defaultValue = "day") String granularity,
+                                                          @AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                          WebRequest request) {
+        TaskStatsGranularity statsGranularity = TaskStatsGranularity.fromValue(granularity);
+        String username = currentUser.getUsername();
+        String eTag = eTag(taskService.getCollectionVersion(username));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        TaskStatsResponse stats = taskService.getTaskStats(username, from, to, statsGranularity);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(stats);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResponse> searchTasks(@RequestParam(value = "q", required = false) String query,
+                                                          @RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "20") int size,
+                                                          @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        String username = currentUser.getUsername();
+        TaskSearchResponse result = taskService.searchTasks(username, query, page, size);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<TaskSliceResponse> getTasksAfter(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "20") int size,
+                                                           Sort sort,
+                                                           @AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                           WebRequest request) {
+        String username = currentUser.getUsername();
+        String eTag = eTag(taskService.getCollectionVersion(username));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        TaskSliceResponse tasks = taskService.getTasksAfter(username, sort, cursor, size);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(tasks);
+    }
+
+    private static String eTag(Object version) {
+        return "\"" + version + "\"";
+    }
+
+    // Task ETags are the quoted version; "*" matches any version.
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new IllegalArgumentException("If-Match must be a single strong ETag, e.g. \"3\"");
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match does not match any task version: " + value);
+        }
+    }
+
 
 } 
\ No newline at end of file
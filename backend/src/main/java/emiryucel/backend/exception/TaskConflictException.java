@@ -0,0 +1,22 @@
+package emiryucel.backend.exception;
+
+import emiryucel.backend.model.dto.TaskResponse;
+
+import java.util.List;
+
+/**
+ * A task would overlap other tasks of the same user while the caller asked to reject conflicts.
+ */
+public class TaskConflictException extends RuntimeException {
+
+    private final List<TaskResponse> conflicts;
+
+    public TaskConflictException(List<TaskResponse> conflicts) {
+        super("Task overlaps existing tasks");
+        this.conflicts = conflicts;
+    }
+
+    public List<TaskResponse> getConflicts() {
+        return conflicts;
+    }
+}
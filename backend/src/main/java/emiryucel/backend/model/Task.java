@@ -4,10 +4,15 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -17,9 +22,17 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_task_user_date", columnList = "user_id, task_date, task_id, task_end_date"),
+        @Index(name = "idx_task_date", columnList = "task_date, task_id"),
+        @Index(name = "idx_task_user_name", columnList = "user_id, task_name, task_id"),
+        @Index(name = "idx_task_user_duration", columnList = "user_id, duration_in_hour, task_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task")
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID taskId;
     
     @NotBlank(message = "Task name is required")
@@ -37,4 +50,14 @@ public class Task {
     
     @Min(value = 2, message = "Duration must be at least 2 hours")
     private int durationInHour;
+
+    // Generated column (taskDate + durationInHour). Mapped only so queries can filter on it; the
+    // field itself is not refreshed after writes, so it has no accessors.
+    @Column(insertable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private LocalDateTime taskEndDate;
+
+    @Version
+    private Long version;
 } 
\ No newline at end of file
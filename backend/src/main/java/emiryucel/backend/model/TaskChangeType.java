@@ -0,0 +1,9 @@
+package emiryucel.backend.model;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    // Batch, import and bulk-delete changes; subscribers should reload their tasks.
+    RESYNC
+}
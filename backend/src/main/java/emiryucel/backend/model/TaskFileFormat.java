@@ -0,0 +1,33 @@
+package emiryucel.backend.model;
+
+import org.springframework.http.MediaType;
+
+public enum TaskFileFormat {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    TaskFileFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static TaskFileFormat fromExtension(String extension) {
+        for (TaskFileFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported file format: " + extension);
+    }
+}
@@ -0,0 +1,46 @@
+package emiryucel.backend.model;
+
+import emiryucel.backend.model.dto.TaskResponse;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public enum TaskSortField {
+    TASK_NAME("taskName", TaskResponse::getTaskName, value -> value),
+    TASK_DATE("taskDate", TaskResponse::getTaskDate, LocalDateTime::parse),
+    DURATION_IN_HOUR("durationInHour", TaskResponse::getDurationInHour, Integer::valueOf);
+
+    private final String property;
+    private final Function<TaskResponse, Object> keyExtractor;
+    private final Function<String, Object> keyParser;
+
+    TaskSortField(String property, Function<TaskResponse, Object> keyExtractor, Function<String, Object> keyParser) {
+        this.property = property;
+        this.keyExtractor = keyExtractor;
+        this.keyParser = keyParser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Object keyOf(TaskResponse task) {
+        return keyExtractor.apply(task);
+    }
+
+    public Object parseKey(String value) {
+        return keyParser.apply(value);
+    }
+
+    public static TaskSortField fromProperty(String property) {
+        for (TaskSortField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort property: " + property + "; sort by "
+                + Arrays.stream(values()).map(TaskSortField::getProperty).collect(Collectors.joining(", ")));
+    }
+}
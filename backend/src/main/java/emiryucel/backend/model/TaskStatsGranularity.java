@@ -0,0 +1,40 @@
+package emiryucel.backend.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum TaskStatsGranularity {
+    DAY("day"),
+    WEEK("week");
+
+    private final String value;
+
+    TaskStatsGranularity(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * First day of the bucket containing the given day; weeks start on Monday.
+     */
+    public LocalDate bucketStart(LocalDate day) {
+        return this == WEEK ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+    }
+
+    public LocalDate nextBucket(LocalDate start) {
+        return this == WEEK ? start.plusWeeks(1) : start.plusDays(1);
+    }
+
+    public static TaskStatsGranularity fromValue(String value) {
+        for (TaskStatsGranularity granularity : values()) {
+            if (granularity.value.equalsIgnoreCase(value)) {
+                return granularity;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported granularity: " + value);
+    }
+}
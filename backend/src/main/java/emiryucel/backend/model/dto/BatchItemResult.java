@@ -0,0 +1,19 @@
+package emiryucel.backend.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchItemResult {
+    private int index;
+    private boolean success;
+    private TaskResponse task;
+    private List<String> errors;
+}
@@ -0,0 +1,18 @@
+package emiryucel.backend.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTaskResponse {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> results;
+}
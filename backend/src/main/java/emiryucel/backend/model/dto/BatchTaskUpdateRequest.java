@@ -0,0 +1,26 @@
+package emiryucel.backend.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTaskUpdateRequest {
+    @NotNull(message = "Task id is required")
+    private UUID taskId;
+
+    @Valid
+    @NotNull(message = "Task is required")
+    private TaskRequest task;
+
+    // Optional; when present the update only applies to this version of the task.
+    private Long version;
+}
@@ -0,0 +1,22 @@
+package emiryucel.backend.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteRequest {
+    private List<UUID> taskIds;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private boolean all;
+    private String owner;
+}
@@ -0,0 +1,20 @@
+package emiryucel.backend.model.dto;
+
+import emiryucel.backend.model.TaskChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskChangeEvent {
+    private TaskChangeType type;
+    private String owner;
+    private UUID taskId;
+    private TaskResponse task;
+}
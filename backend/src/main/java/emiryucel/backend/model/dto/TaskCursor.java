@@ -0,0 +1,43 @@
+package emiryucel.backend.model.dto;
+
+import emiryucel.backend.model.TaskSortField;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last row of a keyset page: the sort key and task id of that row, together
+ * with the ordering it was read in. Serialized as an opaque URL-safe token.
+ */
+public record TaskCursor(TaskSortField sortField, Sort.Direction direction, Object key, UUID taskId) {
+
+    private static final String SEPARATOR = "\n";
+    private static final String NULL_KEY = "-";
+    private static final String KEY_PREFIX = "v";
+
+    public static TaskCursor after(TaskResponse task, TaskSortField sortField, Sort.Direction direction) {
+        return new TaskCursor(sortField, direction, sortField.keyOf(task), task.getTaskId());
+    }
+
+    public String encode() {
+        String encodedKey = key == null ? NULL_KEY : KEY_PREFIX + key;
+        String raw = String.join(SEPARATOR, sortField.getProperty(), direction.name(), taskId.toString(), encodedKey);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            TaskSortField sortField = TaskSortField.fromProperty(parts[0]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            UUID taskId = UUID.fromString(parts[2]);
+            Object key = parts[3].equals(NULL_KEY) ? null : sortField.parseKey(parts[3].substring(KEY_PREFIX.length()));
+            return new TaskCursor(sortField, direction, key, taskId);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
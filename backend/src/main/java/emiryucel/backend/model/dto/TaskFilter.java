@@ -0,0 +1,24 @@
+package emiryucel.backend.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional conditions of the admin task listing; null fields do not filter. The date range
+ * applies to the start of a task, from inclusive and to exclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskFilter {
+    private String owner;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Integer minDuration;
+    private Integer maxDuration;
+}
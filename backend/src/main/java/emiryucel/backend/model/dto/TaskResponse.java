@@ -19,4 +19,5 @@ public class TaskResponse {
     private String username;
     private LocalDateTime taskDate;
     private int durationInHour;
+    private long version;
 } 
\ No newline at end of file
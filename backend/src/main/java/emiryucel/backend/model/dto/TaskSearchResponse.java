@@ -0,0 +1,20 @@
+package emiryucel.backend.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSearchResponse {
+    private String query;
+    private int totalHits;
+    private int page;
+    private int size;
+    private List<TaskSearchHit> hits;
+}
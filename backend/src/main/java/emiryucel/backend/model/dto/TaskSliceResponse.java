@@ -0,0 +1,19 @@
+package emiryucel.backend.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSliceResponse {
+    private List<TaskResponse> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,10 @@
+package emiryucel.backend.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Change to, or sum of, one user's task count and planned hours on one day. A null day stands for
+ * undated tasks.
+ */
+public record TaskStatsDelta(Long userId, LocalDate day, long taskCount, long hours) {
+}
@@ -0,0 +1,24 @@
+package emiryucel.backend.model.dto;
+
+import emiryucel.backend.model.TaskStatsGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatsResponse {
+    private String username;
+    private long taskCount;
+    private long totalHours;
+    private LocalDate from;
+    private LocalDate to;
+    private TaskStatsGranularity granularity;
+    private List<TaskStatsBucket> buckets;
+}
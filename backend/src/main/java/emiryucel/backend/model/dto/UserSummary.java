@@ -0,0 +1,19 @@
+package emiryucel.backend.model.dto;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.User;
+
+/**
+ * What requests need to know about a user, without credentials or the lazy task list, so it can be
+ * cached and shared between threads.
+ */
+public record UserSummary(Long id, String username, Role role, int tokenVersion) {
+
+    public static UserSummary from(User user) {
+        return new UserSummary(user.getId(), user.getUsername(), user.getRole(), user.getTokenVersion());
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+}
@@ -2,19 +2,125 @@ package emiryucel.backend.repository;
 
 import emiryucel.backend.model.Task;
 import emiryucel.backend.model.User;
+import emiryucel.backend.model.dto.TaskResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, TaskRepositoryCustom {
     Page<Task> findByUser_Username(String username, Pageable pageable);
     Optional<Task> findByTaskIdAndUser_Username(UUID taskId, String username);
     // Optional: For direct user object queries if preferred later
     // Page<Task> findByUser(User user, Pageable pageable);
     // Optional<Task> findByTaskIdAndUser(UUID taskId, User user);
-} 
\ No newline at end of file
+
+    @Query("select t from Task t join fetch t.user where t.taskId in :taskIds")
+    List<Task> findAllWithUserByTaskIdIn(@Param("taskIds") Collection<UUID> taskIds);
+
+    // Page totals come from task_stats; this count only answers them until the first reconcile.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    long countByUser_Id(Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new emiryucel.backend.model.dto.TaskResponse(t.taskId, t.taskName, t.taskDescription, u.username, t.taskDate, t.durationInHour, t.version) " +
+            "from Task t join t.user u where u.username = :username order by t.taskId")
+    Stream<TaskResponse> streamResponsesByUsername(@Param("username") String username);
+
+    @Query("select new emiryucel.backend.model.dto.TaskResponse(t.taskId, t.taskName, t.taskDescription, u.username, t.taskDate, t.durationInHour, t.version) " +
+            "from Task t join t.user u where t.taskId in :taskIds")
+    List<TaskResponse> findResponsesByTaskIdIn(@Param("taskIds") Collection<UUID> taskIds);
+
+    // Walks idx_task_user_duration backwards, so the longest task is found without a scan.
+    @Query("select t.durationInHour from Task t where t.user.id = :userId order by t.durationInHour desc")
+    List<Integer> findLongestDurationsByUserId(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Tasks whose [taskDate, taskEndDate) interval overlaps [from, to). No task starting before
+     * earliestStart can reach from, which keeps this a bounded range scan of idx_task_user_date.
+     */
+    @Query("select new emiryucel.backend.model.dto.TaskResponse(t.taskId, t.taskName, t.taskDescription, u.username, t.taskDate, t.durationInHour, t.version) " +
+            "from Task t join t.user u where t.user.id = :userId " +
+            "and t.taskDate >= :earliestStart and t.taskDate < :to and t.taskEndDate > :from " +
+            "and (:excludeTaskId is null or t.taskId <> :excludeTaskId) " +
+            "order by t.taskDate, t.taskId")
+    List<TaskResponse> findResponsesOverlapping(@Param("userId") Long userId,
+                                                @Param("earliestStart") LocalDateTime earliestStart,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to,
+                                                @Param("excludeTaskId") UUID excludeTaskId,
+                                                Limit limit);
+
+    @Query("select distinct u.username from Task t join t.user u")
+    List<String> findOwnerUsernames();
+
+    @Query("select t from Task t join fetch t.user where t.taskId = :taskId")
+    Optional<Task> findWithUserByTaskId(@Param("taskId") UUID taskId);
+
+    @Query("select new emiryucel.backend.model.dto.TaskResponse(t.taskId, t.taskName, t.taskDescription, u.username, t.taskDate, t.durationInHour, t.version) " +
+            "from Task t join t.user u where t.taskId = :taskId")
+    Optional<TaskResponse> findResponseByTaskId(@Param("taskId") UUID taskId);
+
+    // Like every bulk statement here, this empties the whole task cache region and invalidates the
+    // cached queries over task; see hibernate-cache.conf.
+    // Bumps the version itself; a null expectedVersion updates whatever version is current.
+    @Modifying
+    @Query("update Task t set t.taskName = :taskName, t.taskDescription = :taskDescription, t.taskDate = :taskDate, " +
+            "t.durationInHour = :durationInHour, t.version = t.version + 1 " +
+            "where t.taskId = :taskId and t.user = (select u from User u where u.username = :username) " +
+            "and (:expectedVersion is null or t.version = :expectedVersion)")
+    int updateByTaskIdAndOwner(@Param("taskId") UUID taskId,
+                               @Param("username") String username,
+                               @Param("taskName") String taskName,
+                               @Param("taskDescription") String taskDescription,
+                               @Param("taskDate") LocalDateTime taskDate,
+                               @Param("durationInHour") int durationInHour,
+                               @Param("expectedVersion") Long expectedVersion);
+
+    @Query("select distinct u.username from Task t join t.user u where t.taskId in :taskIds")
+    List<String> findOwnerUsernamesByTaskIdIn(@Param("taskIds") Collection<UUID> taskIds);
+
+    @Query("select t.version from Task t where t.taskId = :taskId")
+    Optional<Long> findVersionByTaskId(@Param("taskId") UUID taskId);
+
+    @Modifying
+    @Query("delete from Task t where t.taskId = :taskId and t.user = (select u from User u where u.username = :username)")
+    int deleteByTaskIdAndOwner(@Param("taskId") UUID taskId, @Param("username") String username);
+
+    @Modifying
+    @Query("delete from Task t where t.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") UUID taskId);
+
+    @Modifying
+    @Query("delete from Task t where t.taskId in :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<UUID> taskIds);
+
+    @Modifying
+    @Query("delete from Task t where t.user.id = :userId and t.taskId in :taskIds")
+    int deleteByUserIdAndTaskIdIn(@Param("userId") Long userId, @Param("taskIds") Collection<UUID> taskIds);
+
+    @Modifying
+    @Query("delete from Task t where t.user.id = :userId and t.taskDate >= :from and t.taskDate < :to")
+    int deleteByUserIdAndTaskDateBetween(@Param("userId") Long userId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("delete from Task t where t.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,18 @@
+package emiryucel.backend.repository;
+
+import emiryucel.backend.model.TaskSortField;
+import emiryucel.backend.model.dto.TaskCursor;
+import emiryucel.backend.model.dto.TaskFilter;
+import emiryucel.backend.model.dto.TaskResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+    List<TaskResponse> findResponsesByUserId(Long userId, Pageable pageable);
+    List<TaskResponse> findResponsesAfter(Long userId, TaskSortField sortField, Sort.Direction direction,
+                                          TaskCursor after, int limit);
+    List<TaskResponse> findAllResponsesAfter(Long ownerId, TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit);
+    void flushAndClear();
+}
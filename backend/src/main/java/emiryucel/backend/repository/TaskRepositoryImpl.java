@@ -0,0 +1,265 @@
+package emiryucel.backend.repository;
+
+import emiryucel.backend.model.Task;
+import emiryucel.backend.model.TaskSortField;
+import emiryucel.backend.model.dto.TaskCursor;
+import emiryucel.backend.model.dto.TaskFilter;
+import emiryucel.backend.model.dto.TaskResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    // Hibernate binds LocalDateTime through java.sql.Timestamp, so every stored taskDate lies within
+    // its millisecond range; LocalDateTime.MIN and MAX would overflow it.
+    private static final LocalDateTime EARLIEST_TASK_DATE = LocalDateTime.of(-290_000_000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_TASK_DATE = LocalDateTime.of(290_000_000, 12, 31, 23, 59);
+
+    // No explicit join: with "join t.user u", Hibernate reads the owner filter from u.id, and H2 then
+    // drives the query from the user table and sorts all of the owner's tasks.
+    private static final String SELECT_RESPONSES =
+            "select new emiryucel.backend.model.dto.TaskResponse(t.taskId, t.taskName, t.taskDescription, t.user.username, t.taskDate, t.durationInHour, t.version) " +
+            "from Task t where t.user.id = :userId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Offset page of one user's tasks in the pageable's order, ties broken by taskId. Given only the
+     * owner, H2 reads the foreign key index and sorts all of the user's tasks, and it reads an index
+     * in order only when the ORDER BY starts with that index's leading columns. So pages sorted by
+     * a column that is never null also bound that column by its lowest value and lead with the
+     * owner, which makes them read idx_task_user_name or idx_task_user_duration in order. Pages
+     * sorted by taskDate have to include undated tasks, which no range on task_date covers, so they
+     * are still sorted. Pages are not put in the query cache: any task write by anyone invalidates
+     * them, so under a steady write load they would mostly be stored and never read.
+     */
+    @Override
+    public List<TaskResponse> findResponsesByUserId(Long userId, Pageable pageable) {
+        List<Sort.Order> orders = pageable.getSort().toList();
+        TaskSortField leading = orders.isEmpty() ? null : TaskSortField.fromProperty(orders.get(0).getProperty());
+        Object lowestKey = leading != null ? lowestKey(leading) : null;
+        String leadingDirection = orders.isEmpty() || orders.get(0).isAscending() ? " asc" : " desc";
+
+        StringBuilder jpql = new StringBuilder(SELECT_RESPONSES);
+        if (lowestKey != null) {
+            jpql.append(" and t.").append(leading.getProperty()).append(" >= :lowestKey");
+        }
+        jpql.append(" order by ");
+        if (lowestKey != null) {
+            jpql.append("t.user.id").append(leadingDirection).append(", ");
+        }
+        for (Sort.Order order : orders) {
+            jpql.append("t.").append(TaskSortField.fromProperty(order.getProperty()).getProperty())
+                    .append(order.isAscending() ? " asc" : " desc").append(", ");
+        }
+        jpql.append("t.taskId").append(leadingDirection);
+
+        TypedQuery<TaskResponse> query = entityManager.createQuery(jpql.toString(), TaskResponse.class)
+                .setParameter("userId", userId);
+        if (lowestKey != null) {
+            query.setParameter("lowestKey", lowestKey);
+        }
+        if (pageable.isPaged()) {
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()))
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Keyset page of one user's tasks ordered by the sort column and then by taskId, both in the
+     * given direction. By taskDate it is read like the admin listing, with undated and dated tasks
+     * as separate ranges. The other sort columns are never null, so a single range scan of
+     * idx_task_user_name or idx_task_user_duration resumes from the cursor without an OFFSET scan;
+     * as with the offset pages, the range and the leading owner column are what select that index.
+     */
+    @Override
+    public List<TaskResponse> findResponsesAfter(Long userId, TaskSortField sortField, Sort.Direction direction,
+                                                 TaskCursor after, int limit) {
+        if (sortField == TaskSortField.TASK_DATE) {
+            return findAllResponsesAfter(userId, new TaskFilter(), direction, after, limit);
+        }
+        if (after != null && after.key() == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String column = "t." + sortField.getProperty();
+        boolean ascending = direction.isAscending();
+        String order = ascending ? " asc" : " desc";
+
+        StringBuilder jpql = new StringBuilder(SELECT_RESPONSES);
+        if (after == null) {
+            jpql.append(" and ").append(column).append(" >= :bound");
+        } else {
+            jpql.append(" and ").append(column).append(ascending ? " >= :bound" : " <= :bound");
+            jpql.append(" and (").append(column).append(ascending ? " > :bound" : " < :bound")
+                    .append(" or t.taskId").append(ascending ? " > :lastId)" : " < :lastId)");
+        }
+        jpql.append(" order by t.user.id").append(order)
+                .append(", ").append(column).append(order)
+                .append(", t.taskId").append(order);
+
+        TypedQuery<TaskResponse> query = entityManager.createQuery(jpql.toString(), TaskResponse.class)
+                .setParameter("userId", userId)
+                .setParameter("bound", after != null ? after.key() : lowestKey(sortField))
+                .setMaxResults(limit);
+        if (after != null) {
+            query.setParameter("lastId", after.taskId());
+        }
+        return query.getResultList();
+    }
+
+    // A bound every stored value meets; none for taskDate, whose undated tasks fall outside any range.
+    private static Object lowestKey(TaskSortField sortField) {
+        return switch (sortField) {
+            case TASK_NAME -> "";
+            case DURATION_IN_HOUR -> Integer.MIN_VALUE;
+            case TASK_DATE -> null;
+        };
+    }
+
+    /**
+     * Keyset page over all users' tasks ordered by taskDate and then taskId, both in the given
+     * direction. Undated tasks sort first ascending and last descending; they are read as a
+     * separate range, so each query is a plain range scan of idx_task_date, or of
+     * idx_task_user_date when filtered by owner, that stops after limit rows at any depth.
+     */
+    @Override
+    public List<TaskResponse> findAllResponsesAfter(Long ownerId, TaskFilter filter, Sort.Direction direction, TaskCursor after, int limit) {
+        boolean ascending = direction.isAscending();
+        boolean datedOnly = filter.getFrom() != null || filter.getTo() != null;
+        boolean afterUndated = after != null && after.key() == null;
+
+        List<TaskResponse> rows = new ArrayList<>(limit);
+        if (ascending) {
+            if (!datedOnly && (after == null || afterUndated)) {
+                rows.addAll(findAllResponsesAfter(ownerId, filter, true, true, after, limit));
+            }
+            if (rows.size() < limit) {
+                rows.addAll(findAllResponsesAfter(ownerId, filter, false, true, afterUndated ? null : after, limit - rows.size()));
+            }
+        } else {
+            if (!afterUndated) {
+                rows.addAll(findAllResponsesAfter(ownerId, filter, false, false, after, limit));
+            }
+            if (!datedOnly && rows.size() < limit) {
+                rows.addAll(findAllResponsesAfter(ownerId, filter, true, false, afterUndated ? after : null, limit - rows.size()));
+            }
+        }
+        return rows;
+    }
+
+    private List<TaskResponse> findAllResponsesAfter(Long ownerId, TaskFilter filter, boolean undated, boolean ascending, TaskCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        Path<Long> userId = task.get("user").get("id");
+        Path<LocalDateTime> taskDate = task.get("taskDate");
+        Path<UUID> taskId = task.get("taskId");
+        Path<Integer> durationInHour = task.get("durationInHour");
+        Path<String> taskName = task.get("taskName");
+        Path<String> taskDescription = task.get("taskDescription");
+        Path<Long> version = task.get("version");
+
+        // No join to _user: with one, H2 drives the query from the user table and sorts every
+        // matching task. Usernames are looked up for the page afterwards.
+        query.multiselect(taskId, taskName, taskDescription, userId, taskDate, durationInHour, version);
+
+        // Predicates follow the index columns: owner, then the task_date range, then residual filters.
+        List<Predicate> predicates = new ArrayList<>();
+        if (ownerId != null) {
+            predicates.add(cb.equal(userId, ownerId));
+        }
+        if (undated) {
+            predicates.add(cb.isNull(taskDate));
+            if (after != null) {
+                predicates.add(ascending ? cb.greaterThan(taskId, after.taskId()) : cb.lessThan(taskId, after.taskId()));
+            }
+        } else {
+            // One lower and one upper bound on task_date, even when unfiltered: given only "is not
+            // null", H2 reads an owner's tasks through the plain user_id index and sorts them all.
+            LocalDateTime lastDate = after != null ? (LocalDateTime) after.key() : null;
+            LocalDateTime lower = filter.getFrom() != null ? filter.getFrom() : EARLIEST_TASK_DATE;
+            if (ascending && lastDate != null && lastDate.isAfter(lower)) {
+                lower = lastDate;
+            }
+            predicates.add(cb.greaterThanOrEqualTo(taskDate, lower));
+            if (!ascending && lastDate != null && (filter.getTo() == null || filter.getTo().isAfter(lastDate))) {
+                predicates.add(cb.lessThanOrEqualTo(taskDate, lastDate));
+            } else if (filter.getTo() != null) {
+                predicates.add(cb.lessThan(taskDate, filter.getTo()));
+            } else if (!ascending) {
+                predicates.add(cb.lessThanOrEqualTo(taskDate, LATEST_TASK_DATE));
+            }
+            if (lastDate != null) {
+                predicates.add(cb.or(
+                        ascending ? cb.greaterThan(taskDate, lastDate) : cb.lessThan(taskDate, lastDate),
+                        ascending ? cb.greaterThan(taskId, after.taskId()) : cb.lessThan(taskId, after.taskId())));
+            }
+        }
+        if (filter.getMinDuration() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(durationInHour, filter.getMinDuration()));
+        }
+        if (filter.getMaxDuration() != null) {
+            predicates.add(cb.lessThanOrEqualTo(durationInHour, filter.getMaxDuration()));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        // H2 only reads an index in order when the ORDER BY starts with its leading columns, so the
+        // owner column leads even though it is fixed by the filter.
+        List<Order> orders = new ArrayList<>();
+        if (ownerId != null) {
+            orders.add(ascending ? cb.asc(userId) : cb.desc(userId));
+        }
+        orders.add(ascending ? cb.asc(taskDate) : cb.desc(taskDate));
+        orders.add(ascending ? cb.asc(taskId) : cb.desc(taskId));
+        query.orderBy(orders);
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+        Map<Long, String> usernames = findUsernamesByIdIn(rows.stream().map(row -> row.get(userId)).collect(Collectors.toSet()));
+        return rows.stream()
+                .map(row -> new TaskResponse(row.get(taskId), row.get(taskName), row.get(taskDescription),
+                        usernames.get(row.get(userId)), row.get(taskDate), row.get(durationInHour), row.get(version)))
+                .toList();
+    }
+
+    private Map<Long, String> findUsernamesByIdIn(Set<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager.createQuery("select u.id, u.username from User u where u.id in :userIds", Tuple.class)
+                .setParameter("userIds", userIds)
+                .getResultStream()
+                .collect(Collectors.toMap(row -> row.get(0, Long.class), row -> row.get(1, String.class)));
+    }
+
+    /**
+     * Pushes pending statements as JDBC batches and detaches everything, keeping the persistence
+     * context small during large batch writes.
+     */
+    @Override
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
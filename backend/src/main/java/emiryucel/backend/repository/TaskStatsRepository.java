@@ -0,0 +1,152 @@
+package emiryucel.backend.repository;
+
+import emiryucel.backend.model.dto.TaskStatsDelta;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plain JDBC access to the task_stats and task_daily_stats summary tables, which have no entity.
+ * Every method joins the caller's transaction.
+ */
+@Repository
+public class TaskStatsRepository {
+
+    private static final String TASK_COLUMNS =
+            "select user_id, cast(task_date as date) as task_day, 1 as task_count, duration_in_hour as total_hours from task ";
+    private static final String SUM_COLUMNS =
+            "select user_id, cast(task_date as date) as task_day, count(*) as task_count, sum(duration_in_hour) as total_hours from task ";
+    private static final String SUM_GROUPING = " group by user_id, cast(task_date as date)";
+
+    private static final String MERGE_TOTALS =
+            "merge into task_stats s using (values (cast(:userId as bigint), cast(:taskCount as bigint), cast(:hours as bigint))) " +
+            "d(user_id, task_count, total_hours) on s.user_id = d.user_id " +
+            "when matched then update set task_count = s.task_count + d.task_count, total_hours = s.total_hours + d.total_hours " +
+            "when not matched then insert (user_id, task_count, total_hours) values (d.user_id, d.task_count, d.total_hours)";
+    private static final String MERGE_DAYS =
+            "merge into task_daily_stats s using (values (cast(:userId as bigint), cast(:day as date), cast(:taskCount as bigint), cast(:hours as bigint))) " +
+            "d(user_id, task_day, task_count, total_hours) on s.user_id = d.user_id and s.task_day = d.task_day " +
+            "when matched then update set task_count = s.task_count + d.task_count, total_hours = s.total_hours + d.total_hours " +
+            "when not matched then insert (user_id, task_day, task_count, total_hours) values (d.user_id, d.task_day, d.task_count, d.total_hours)";
+
+    private static final RowMapper<TaskStatsDelta> DELTA_MAPPER = (rs, rowNum) -> new TaskStatsDelta(
+            rs.getLong("user_id"), rs.getObject("task_day", LocalDate.class), rs.getLong("task_count"), rs.getLong("total_hours"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskStatsRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the users' rows in id order, so transactions changing several users cannot deadlock.
+     */
+    public void lockUsers(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            jdbcTemplate.queryForList("select id from _user where id in (:userIds) order by id for update",
+                    Map.of("userIds", userIds), Long.class);
+        }
+    }
+
+    public List<Long> findUserIds() {
+        return jdbcTemplate.queryForList("select id from _user order by id", Map.of(), Long.class);
+    }
+
+    public List<Long> findUserIdsByTaskIdIn(Collection<UUID> taskIds) {
+        return jdbcTemplate.queryForList("select distinct user_id from task where task_id in (:taskIds)",
+                Map.of("taskIds", taskIds), Long.class);
+    }
+
+    /**
+     * One entry per task. Only stable while the caller holds the owners' locks.
+     */
+    public List<TaskStatsDelta> findByTaskIdIn(Collection<UUID> taskIds) {
+        return jdbcTemplate.query(TASK_COLUMNS + "where task_id in (:taskIds)", Map.of("taskIds", taskIds), DELTA_MAPPER);
+    }
+
+    public List<TaskStatsDelta> findByUserIdAndTaskIdIn(Long userId, Collection<UUID> taskIds) {
+        return jdbcTemplate.query(TASK_COLUMNS + "where user_id = :userId and task_id in (:taskIds)",
+                Map.of("userId", userId, "taskIds", taskIds), DELTA_MAPPER);
+    }
+
+    public List<TaskStatsDelta> sumByUserId(Long userId) {
+        return jdbcTemplate.query(SUM_COLUMNS + "where user_id = :userId" + SUM_GROUPING, Map.of("userId", userId), DELTA_MAPPER);
+    }
+
+    public List<TaskStatsDelta> sumByUserIdAndTaskDateBetween(Long userId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(SUM_COLUMNS + "where user_id = :userId and task_date >= :from and task_date < :to" + SUM_GROUPING,
+                Map.of("userId", userId, "from", from, "to", to), DELTA_MAPPER);
+    }
+
+    public Optional<TaskStatsDelta> findTotalsByUserId(Long userId) {
+        return jdbcTemplate.query("select user_id, cast(null as date) as task_day, task_count, total_hours from task_stats where user_id = :userId",
+                Map.of("userId", userId), DELTA_MAPPER).stream().findFirst();
+    }
+
+    public List<TaskStatsDelta> findDaysByUserId(Long userId) {
+        return jdbcTemplate.query("select user_id, task_day, task_count, total_hours from task_daily_stats where user_id = :userId order by task_day",
+                Map.of("userId", userId), DELTA_MAPPER);
+    }
+
+    public List<TaskStatsDelta> findDaysByUserIdAndDayBetween(Long userId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("select user_id, task_day, task_count, total_hours from task_daily_stats " +
+                        "where user_id = :userId and task_day >= :from and task_day < :to order by task_day",
+                Map.of("userId", userId, "from", from, "to", to), DELTA_MAPPER);
+    }
+
+    /**
+     * Adds the deltas to the stored sums. Callers must hold the lock of every user involved, which
+     * also keeps two transactions from inserting the same missing row.
+     */
+    public void add(Collection<TaskStatsDelta> deltas) {
+        Map<Long, long[]> totals = new HashMap<>();
+        for (TaskStatsDelta delta : deltas) {
+            long[] sums = totals.computeIfAbsent(delta.userId(), key -> new long[2]);
+            sums[0] += delta.taskCount();
+            sums[1] += delta.hours();
+        }
+        jdbcTemplate.batchUpdate(MERGE_TOTALS, totals.entrySet().stream()
+                .map(entry -> parameters(entry.getKey(), null, entry.getValue()[0], entry.getValue()[1]))
+                .toArray(SqlParameterSource[]::new));
+
+        List<TaskStatsDelta> days = deltas.stream().filter(delta -> delta.day() != null).toList();
+        jdbcTemplate.batchUpdate(MERGE_DAYS, days.stream()
+                .map(delta -> parameters(delta.userId(), delta.day(), delta.taskCount(), delta.hours()))
+                .toArray(SqlParameterSource[]::new));
+        // Days left without tasks are dropped rather than kept as zero rows.
+        jdbcTemplate.batchUpdate("delete from task_daily_stats where user_id = :userId and task_day = :day and task_count = 0",
+                days.stream()
+                        .filter(delta -> delta.taskCount() < 0)
+                        .map(delta -> parameters(delta.userId(), delta.day(), 0, 0))
+                        .toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * Overwrites a user's stored sums with freshly computed ones, as returned by {@link #sumByUserId}.
+     */
+    public void replace(Long userId, Collection<TaskStatsDelta> sums) {
+        Map<String, Long> user = Map.of("userId", userId);
+        jdbcTemplate.update("delete from task_daily_stats where user_id = :userId", user);
+        jdbcTemplate.update("delete from task_stats where user_id = :userId", user);
+        add(sums);
+    }
+
+    private static SqlParameterSource parameters(Long userId, LocalDate day, long taskCount, long hours) {
+        return new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("day", day)
+                .addValue("taskCount", taskCount)
+                .addValue("hours", hours);
+    }
+}
@@ -0,0 +1,55 @@
+package emiryucel.backend.security;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.User;
+import emiryucel.backend.model.dto.UserSummary;
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lightweight principal that carries only what the API needs from the token, so authenticated
+ * requests don't have to load the {@link User} entity.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+    private final Long id;
+    private final String username;
+    private final Role role;
+
+    public static AuthenticatedUser fromUser(UserSummary user) {
+        return new AuthenticatedUser(user.id(), user.username(), user.role());
+    }
+
+    public static AuthenticatedUser fromClaims(Claims claims) {
+        Number userId = claims.get(JwtTokenProvider.USER_ID_CLAIM, Number.class);
+        String role = claims.get(JwtTokenProvider.ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), Role.valueOf(role));
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
@@ -1,15 +1,24 @@
 package emiryucel.backend.security;
 
+import emiryucel.backend.model.dto.UserSummary;
+import emiryucel.backend.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -22,14 +31,25 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final UserService userService;
     private final HandlerExceptionResolver handlerExceptionResolver;
+    private final boolean statelessPrincipal;
+    private final MeterRegistry meterRegistry;
+    private final Timer verifyTimer;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider,UserDetailsService userDetailsService,HandlerExceptionResolver handlerExceptionResolver
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider,UserService userService,HandlerExceptionResolver handlerExceptionResolver,
+                                   @Value("${jwt.stateless-principal:true}") boolean statelessPrincipal,
+                                   MeterRegistry meterRegistry
     ) {
         this.tokenProvider = tokenProvider;
-        this.userDetailsService = userDetailsService;
+        this.userService = userService;
         this.handlerExceptionResolver = handlerExceptionResolver;
+        this.statelessPrincipal = statelessPrincipal;
+        this.meterRegistry = meterRegistry;
+        // Includes hits on the verified-token cache, so the distribution shows both paths.
+        this.verifyTimer = Timer.builder("auth.jwt.verify")
+                .description("Time to parse and verify a bearer token")
+                .register(meterRegistry);
     }
 
     @Override
@@ -48,35 +68,75 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String username = tokenProvider.extractUsername(jwt);
+            final Claims claims = verifyTimer.record(() -> tokenProvider.parseVerifiedClaims(jwt));
+            final String username = claims.getSubject();
 
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
             if (username != null && authentication == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-                if (tokenProvider.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                } else {
-                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                    response.setContentType("application/json");
-                    response.getWriter().write("{\"error\":\"Token expired\"}");
+                int tokenVersion = userService.findTokenVersion(username)
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+                if (tokenProvider.isTokenRevoked(claims, tokenVersion)) {
+                    reject(response, "revoked", "Token revoked");
                     return;
                 }
+
+                // Tokens issued before uid and role were added to the claims still need the lookup.
+                AuthenticatedUser principal = statelessPrincipal ? AuthenticatedUser.fromClaims(claims) : null;
+                if (principal == null) {
+                    UserSummary user = userService.findByUsername(username)
+                            .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+                    principal = AuthenticatedUser.fromUser(user);
+                }
+                if (!tokenProvider.isTokenValid(claims, principal)) {
+                    reject(response, "expired", "Token expired");
+                    return;
+                }
+
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        principal.getAuthorities()
+                );
+
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
 
             filterChain.doFilter(request, response);
         } catch (Exception exception) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\":\"Invalid token\"}");
+            reject(response, failureReason(exception), "Invalid token");
+        }
+    }
+
+    private void reject(HttpServletResponse response, String reason, String error) throws IOException {
+        Counter.builder("auth.jwt.failures")
+                .description("Rejected bearer tokens")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        writeUnauthorized(response, error);
+    }
+
+    private static String failureReason(Exception exception) {
+        if (exception instanceof ExpiredJwtException) {
+            return "expired";
+        }
+        if (exception instanceof SignatureException) {
+            return "signature";
         }
+        if (exception instanceof MalformedJwtException) {
+            return "malformed";
+        }
+        if (exception instanceof UsernameNotFoundException) {
+            return "unknown_user";
+        }
+        return "invalid";
+    }
+
+    private void writeUnauthorized(HttpServletResponse response, String error) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"" + error + "\"}");
     }
 } 
\ No newline at end of file
@@ -1,11 +1,14 @@
 package emiryucel.backend.security;
 
-import emiryucel.backend.model.User;
+import emiryucel.backend.model.dto.UserSummary;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -18,6 +21,12 @@ import java.security.Key;
 @Component
 public class JwtTokenProvider {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -25,6 +34,14 @@ public class JwtTokenProvider {
     private long jwtExpiration;
     
     private Key signInKey;
+
+    private JwtParser jwtParser;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtTokenProvider(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
     
     @PostConstruct
     public void init() {
@@ -32,10 +49,13 @@ public class JwtTokenProvider {
             signInKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
         } else {
             signInKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-            System.out.println("Warning: Using generated key. Configure jwt.secret for production.");
-            String encodedKey = Base64.getEncoder().encodeToString(signInKey.getEncoded());
-            System.out.println("Generated secure JWT key: " + encodedKey);
+            // The key itself is not logged: anyone reading the logs could sign tokens with it.
+            log.warn("jwt.secret is missing or shorter than 32 bytes; using a generated key, so tokens do not survive a restart. "
+                    + "Configure jwt.secret for production.");
         }
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
     }
 
     private Key getSigningKey() {
@@ -51,27 +71,27 @@ public class JwtTokenProvider {
         return claimsResolver.apply(claims);
     }
 
-    public String generateToken(UserDetails userDetails) {
+    public String generateToken(UserSummary user) {
         Map<String, Object> extraClaims = new HashMap<>();
-        if (userDetails instanceof User) {
-            extraClaims.put("role", ((User) userDetails).getRole().name());
-        }
-        return generateToken(extraClaims, userDetails);
+        extraClaims.put(ROLE_CLAIM, user.role().name());
+        extraClaims.put(USER_ID_CLAIM, user.id());
+        extraClaims.put(TOKEN_VERSION_CLAIM, user.tokenVersion());
+        return buildToken(extraClaims, user.username(), jwtExpiration);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        return buildToken(extraClaims, userDetails.getUsername(), jwtExpiration);
     }
 
     public long getExpirationTime() {
         return jwtExpiration;
     }
 
-    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+    private String buildToken(Map<String, Object> extraClaims, String subject, long expiration) {
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
+                .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
@@ -79,24 +99,29 @@ public class JwtTokenProvider {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername())) && !claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenRevoked(Claims claims, int currentVersion) {
+        Number version = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+        int tokenVersion = version != null ? version.intValue() : 0;
+        return tokenVersion < currentVersion;
+    }
+
+    /**
+     * Verifies the signature once and reuses the claims for repeated requests with the same token
+     * until it expires.
+     */
+    public Claims parseVerifiedClaims(String token) {
+        return verifiedTokenCache.get(token, t -> jwtParser.parseClaimsJws(t).getBody());
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseVerifiedClaims(token);
     }
 } 
\ No newline at end of file
@@ -5,4 +5,5 @@ import emiryucel.backend.model.dto.LoginResponse;
 
 public interface AuthService {
     LoginResponse login(LoginRequest loginRequest);
+    void logout(String username);
 } 
\ No newline at end of file
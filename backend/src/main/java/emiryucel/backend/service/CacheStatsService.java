@@ -0,0 +1,11 @@
+package emiryucel.backend.service;
+
+import emiryucel.backend.model.dto.CacheRegionStatsResponse;
+import emiryucel.backend.model.dto.CacheStatsResponse;
+
+import java.util.List;
+
+public interface CacheStatsService {
+    List<CacheStatsResponse> getCacheStats();
+    List<CacheRegionStatsResponse> getRegionStats();
+}
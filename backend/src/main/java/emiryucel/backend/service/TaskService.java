@@ -1,16 +1,46 @@
 package emiryucel.backend.service;
 
+import emiryucel.backend.model.TaskFileFormat;
+import emiryucel.backend.model.TaskStatsGranularity;
+import emiryucel.backend.model.dto.BatchTaskResponse;
+import emiryucel.backend.model.dto.BatchTaskUpdateRequest;
+import emiryucel.backend.model.dto.BulkDeleteRequest;
+import emiryucel.backend.model.dto.BulkDeleteResponse;
+import emiryucel.backend.model.dto.TaskFilter;
+import emiryucel.backend.model.dto.TaskImportResponse;
 import emiryucel.backend.model.dto.TaskRequest;
 import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.model.dto.TaskSearchResponse;
+import emiryucel.backend.model.dto.TaskSliceResponse;
+import emiryucel.backend.model.dto.TaskStatsResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface TaskService {
-    TaskResponse createTask(TaskRequest taskRequest, String username);
-    TaskResponse updateTask(UUID taskId, TaskRequest taskRequest, String username);
+    TaskResponse createTask(TaskRequest taskRequest, String username, boolean rejectConflicts);
+    TaskResponse updateTask(UUID taskId, TaskRequest taskRequest, String username, Long expectedVersion, boolean rejectConflicts);
+    BatchTaskResponse createTasks(List<TaskRequest> taskRequests, String username);
+    BatchTaskResponse updateTasks(List<BatchTaskUpdateRequest> updateRequests, String username);
+    TaskImportResponse importTasks(InputStream inputStream, TaskFileFormat format, String username) throws IOException;
     void deleteTask(UUID taskId, String username);
+    BulkDeleteResponse deleteTasks(BulkDeleteRequest deleteRequest, String username);
     TaskResponse getTaskById(UUID taskId, String username);
+    String getCollectionVersion(String username);
     Page<TaskResponse> getAllTasks(String username, Pageable pageable);
+    void exportTasks(String username, TaskFileFormat format, OutputStream outputStream) throws IOException;
+    TaskSliceResponse getTasksAfter(String username, Sort sort, String cursor, int size);
+    TaskSliceResponse getAllUsersTasksAfter(String username, TaskFilter filter, Sort sort, String cursor, int size);
+    TaskSearchResponse searchTasks(String username, String query, int page, int size);
+    List<TaskResponse> getTasksInRange(String username, LocalDateTime from, LocalDateTime to, int size);
+    List<TaskResponse> getConflicts(String username, LocalDateTime taskDate, int durationInHour, UUID excludeTaskId);
+    TaskStatsResponse getTaskStats(String username, LocalDate from, LocalDate to, TaskStatsGranularity granularity);
 } 
\ No newline at end of file
@@ -0,0 +1,7 @@
+package emiryucel.backend.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface TaskStreamService {
+    SseEmitter subscribe(String username);
+}
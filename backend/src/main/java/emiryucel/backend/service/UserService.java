@@ -0,0 +1,28 @@
+package emiryucel.backend.service;
+
+import emiryucel.backend.model.User;
+import emiryucel.backend.model.dto.UserSummary;
+
+import java.util.Optional;
+
+public interface UserService {
+    Optional<UserSummary> findByUsername(String username);
+    User save(User user);
+
+    /**
+     * The user's current token version, kept in memory once read so that revocation checks on
+     * stateless requests don't load the user.
+     */
+    Optional<Integer> findTokenVersion(String username);
+
+    /**
+     * Bumps the user's token version, so every token issued so far is rejected.
+     */
+    void revokeTokens(String username);
+
+    /**
+     * Locks the user's row until the surrounding transaction ends, so checks that span all of the
+     * user's tasks cannot interleave.
+     */
+    void lock(Long userId);
+}
@@ -1,11 +1,13 @@
 package emiryucel.backend.service.impl;
 
-import emiryucel.backend.model.User;
 import emiryucel.backend.model.dto.LoginRequest;
 import emiryucel.backend.model.dto.LoginResponse;
-import emiryucel.backend.repository.UserRepository;
+import emiryucel.backend.model.dto.UserSummary;
 import emiryucel.backend.security.JwtTokenProvider;
 import emiryucel.backend.service.AuthService;
+import emiryucel.backend.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,26 +22,24 @@ import java.util.Optional;
 public class AuthServiceImpl implements AuthService {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserRepository userRepository;
+    private final UserService userService;
     private final AuthenticationManager authenticationManager;
+    private final MeterRegistry meterRegistry;
 
 
-    public AuthServiceImpl(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider, UserRepository userRepository) {
+    public AuthServiceImpl(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider, UserService userService,
+                           MeterRegistry meterRegistry) {
        this.authenticationManager=authenticationManager;
         this.tokenProvider = tokenProvider;
-        this.userRepository = userRepository;
+        this.userService = userService;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public LoginResponse login(LoginRequest loginRequest) {
         try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getUsername(),
-                            loginRequest.getPassword()
-                    )
-            );
-            User authenticatedUser= userRepository.findByUsername(loginRequest.getUsername())
+            authenticate(loginRequest);
+            UserSummary authenticatedUser= userService.findByUsername(loginRequest.getUsername())
                     .orElseThrow(() -> new BadCredentialsException("User not found") {
                     });
             return new LoginResponse(tokenProvider.generateToken(authenticatedUser));
@@ -48,4 +48,29 @@ public class AuthServiceImpl implements AuthService {
             throw new BadCredentialsException("Invalid username or password");
         }
     }
-} 
\ No newline at end of file
+
+    // Dominated by the BCrypt comparison, which is deliberately slow.
+    private void authenticate(LoginRequest loginRequest) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsername(),
+                            loginRequest.getPassword()
+                    )
+            );
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("auth.login.authenticate")
+                    .description("Password authentication during login")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void logout(String username) {
+        userService.revokeTokens(username);
+    }
+}
\ No newline at end of file
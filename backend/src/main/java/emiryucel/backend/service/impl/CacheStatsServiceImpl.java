@@ -0,0 +1,73 @@
+package emiryucel.backend.service.impl;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import emiryucel.backend.model.dto.CacheRegionStatsResponse;
+import emiryucel.backend.model.dto.CacheStatsResponse;
+import emiryucel.backend.service.CacheStatsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    private final CacheManager cacheManager;
+    private final Statistics hibernateStatistics;
+
+    public CacheStatsServiceImpl(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.hibernateStatistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public List<CacheStatsResponse> getCacheStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                CacheStats cacheStats = caffeineCache.getNativeCache().stats();
+                stats.add(CacheStatsResponse.builder()
+                        .name(cacheName)
+                        .size(caffeineCache.getNativeCache().estimatedSize())
+                        .hitCount(cacheStats.hitCount())
+                        .missCount(cacheStats.missCount())
+                        .hitRate(cacheStats.hitRate())
+                        .evictionCount(cacheStats.evictionCount())
+                        .build());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Hibernate second-level cache regions. Counters stay at zero unless
+     * {@code hibernate.generate_statistics} is enabled.
+     */
+    @Override
+    public List<CacheRegionStatsResponse> getRegionStats() {
+        List<CacheRegionStatsResponse> stats = new ArrayList<>();
+        for (String regionName : hibernateStatistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = hibernateStatistics.getCacheRegionStatistics(regionName);
+            if (regionStats == null) {
+                continue;
+            }
+            long lookups = regionStats.getHitCount() + regionStats.getMissCount();
+            stats.add(CacheRegionStatsResponse.builder()
+                    .region(regionName)
+                    .hitCount(regionStats.getHitCount())
+                    .missCount(regionStats.getMissCount())
+                    .putCount(regionStats.getPutCount())
+                    .hitRate(lookups == 0 ? 0 : (double) regionStats.getHitCount() / lookups)
+                    .build());
+        }
+        return stats;
+    }
+}
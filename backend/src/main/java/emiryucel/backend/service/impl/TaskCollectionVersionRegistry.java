@@ -0,0 +1,41 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.model.dto.TaskChangeEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory version of each user's task collection, used as the ETag of list and stats responses.
+ * Bumped only once the change has committed, so a concurrent reader cannot tag the old rows
+ * with the new version.
+ *
+ * <p>Each instance counts on its own and tags carry the instance's start time, so a tag never
+ * matches on another instance: behind a load balancer without sticky sessions a client switching
+ * instances gets a full response instead of a 304, and a 412 for an If-Match it sends.
+ */
+@Component
+public class TaskCollectionVersionRegistry {
+
+    // Keeps tags issued before a restart from matching the counters that start again at zero.
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    public String currentTag(String username) {
+        return epoch + "-" + Integer.toHexString(username.hashCode()) + "-" + versions.getOrDefault(username, 0L);
+    }
+
+    /**
+     * For changes that are not task writes, such as corrected stats. Call once they have committed.
+     */
+    public void bump(String username) {
+        versions.merge(username, 1L, Long::sum);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        bump(event.getOwner());
+    }
+}
@@ -0,0 +1,147 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.model.dto.TaskChangeEvent;
+import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory full-text index of every user's tasks, one {@link TaskTextIndex} per owner so a search
+ * only ever reads the caller's own postings.
+ *
+ * <p>Single-task changes are applied after commit from {@link TaskChangeEvent}s. Bulk writes only
+ * publish a resync, so that owner is reloaded from the database on a background thread; the reload
+ * holds the owner's write lock from before its query starts, so a change committed meanwhile is
+ * either in the query result or applied right after it.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private final Map<String, OwnerIndex> indexes = new ConcurrentHashMap<>();
+    private final Set<String> pendingReloads = ConcurrentHashMap.newKeySet();
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("task-search-indexer").daemon().factory());
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Runs after the command line runners, so data seeded at startup is included.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        indexer.execute(() -> {
+            long start = System.currentTimeMillis();
+            taskRepository.findOwnerUsernames().forEach(this::reload);
+            long indexed = indexes.values().stream().mapToLong(OwnerIndex::size).sum();
+            log.info("Indexed {} tasks for search in {} ms", indexed, System.currentTimeMillis() - start);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> {
+                TaskResponse task = event.getTask();
+                write(event.getOwner(), index -> index.put(task.getTaskId(), task.getVersion(),
+                        task.getTaskName(), task.getTaskDescription()));
+            }
+            case DELETED -> write(event.getOwner(), index -> index.remove(event.getTaskId()));
+            case RESYNC -> scheduleReload(event.getOwner());
+        }
+    }
+
+    TaskTextIndex.Result search(String owner, String query, int limit) {
+        OwnerIndex ownerIndex = indexes.get(owner);
+        if (ownerIndex == null) {
+            return new TaskTextIndex.Result(List.of(), 0);
+        }
+        ownerIndex.lock.readLock().lock();
+        try {
+            return ownerIndex.index.search(query, limit);
+        } finally {
+            ownerIndex.lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    // Several resyncs for the same owner, e.g. one per import batch, collapse into one reload.
+    private void scheduleReload(String owner) {
+        if (pendingReloads.add(owner)) {
+            indexer.execute(() -> {
+                pendingReloads.remove(owner);
+                reload(owner);
+            });
+        }
+    }
+
+    private void reload(String owner) {
+        OwnerIndex ownerIndex = indexes.computeIfAbsent(owner, key -> new OwnerIndex());
+        ownerIndex.lock.writeLock().lock();
+        try {
+            ownerIndex.index.clear();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByUsername(owner)) {
+                    tasks.forEach(task -> ownerIndex.index.put(task.getTaskId(), task.getVersion(),
+                            task.getTaskName(), task.getTaskDescription()));
+                }
+            });
+        } finally {
+            ownerIndex.lock.writeLock().unlock();
+        }
+    }
+
+    private void write(String owner, Consumer<TaskTextIndex> change) {
+        OwnerIndex ownerIndex = indexes.computeIfAbsent(owner, key -> new OwnerIndex());
+        ownerIndex.lock.writeLock().lock();
+        try {
+            change.accept(ownerIndex.index);
+        } finally {
+            ownerIndex.lock.writeLock().unlock();
+        }
+    }
+
+    private static final class OwnerIndex {
+        private final TaskTextIndex index = new TaskTextIndex();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return index.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -1,43 +1,166 @@
 package emiryucel.backend.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import emiryucel.backend.config.CacheConfig;
+import emiryucel.backend.config.GuardedCache;
+import emiryucel.backend.exception.TaskConflictException;
 import emiryucel.backend.model.Role;
 import emiryucel.backend.model.Task;
+import emiryucel.backend.model.TaskChangeType;
+import emiryucel.backend.model.TaskFileFormat;
+import emiryucel.backend.model.TaskSortField;
+import emiryucel.backend.model.TaskStatsGranularity;
 import emiryucel.backend.model.User;
 import emiryucel.backend.model.dto.TaskRequest;
+import emiryucel.backend.model.dto.BatchItemResult;
+import emiryucel.backend.model.dto.BatchTaskResponse;
+import emiryucel.backend.model.dto.BatchTaskUpdateRequest;
+import emiryucel.backend.model.dto.BulkDeleteRequest;
+import emiryucel.backend.model.dto.BulkDeleteResponse;
+import emiryucel.backend.model.dto.TaskChangeEvent;
+import emiryucel.backend.model.dto.TaskCursor;
+import emiryucel.backend.model.dto.TaskFilter;
+import emiryucel.backend.model.dto.TaskImportError;
+import emiryucel.backend.model.dto.TaskImportResponse;
 import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.model.dto.TaskSearchHit;
+import emiryucel.backend.model.dto.TaskSearchResponse;
+import emiryucel.backend.model.dto.TaskSliceResponse;
+import emiryucel.backend.model.dto.TaskStatsBucket;
+import emiryucel.backend.model.dto.TaskStatsDelta;
+import emiryucel.backend.model.dto.TaskStatsResponse;
+import emiryucel.backend.model.dto.UserSummary;
 import emiryucel.backend.repository.TaskRepository;
-import emiryucel.backend.repository.UserRepository;
+import emiryucel.backend.repository.TaskStatsRepository;
 import emiryucel.backend.service.TaskService;
+import emiryucel.backend.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "tasks.service", description = "TaskService method latency")
 public class TaskServiceImpl implements TaskService {
 
+    private static final int MAX_SLICE_SIZE = 1000;
+    private static final int MAX_BATCH_ITEMS = 10_000;
+    private static final int MAX_IMPORT_ERRORS = 1000;
+    private static final int MAX_SEARCH_SIZE = 100;
+    private static final int MAX_SEARCH_WINDOW = 1000;
+    private static final int MAX_REPORTED_CONFLICTS = 20;
+    private static final int MAX_STATS_DAYS = 366;
+
     private final TaskRepository taskRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final TaskCollectionVersionRegistry collectionVersions;
+    private final TaskSearchIndex searchIndex;
+    private final TaskStatsRegistry taskStats;
+    private final TaskStatsRepository statsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectWriter exportWriter;
+    private final ObjectReader importReader;
+    private final TransactionTemplate transactionTemplate;
+    private final GuardedCache taskCache;
+    private final int jdbcBatchSize;
+    private final int importBatchSize;
 
-    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, UserService userService, TaskCollectionVersionRegistry collectionVersions,
+                           TaskSearchIndex searchIndex, TaskStatsRegistry taskStats, TaskStatsRepository statsRepository,
+                           ApplicationEventPublisher eventPublisher, Validator validator, ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager, CacheManager cacheManager,
+                           @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize,
+                           @Value("${tasks.import.batch-size:1000}") int importBatchSize) {
         this.taskRepository = taskRepository;
-        this.userRepository = userRepository;
+        this.userService = userService;
+        this.collectionVersions = collectionVersions;
+        this.searchIndex = searchIndex;
+        this.taskStats = taskStats;
+        this.statsRepository = statsRepository;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.exportWriter = objectMapper.writerFor(TaskResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.importReader = objectMapper.readerFor(TaskRequest.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Writes evict once their transaction has committed; reads that overlap an eviction are not kept.
+        this.taskCache = new GuardedCache(
+                Objects.requireNonNull(cacheManager.getCache(CacheConfig.TASKS_CACHE), "Missing cache: " + CacheConfig.TASKS_CACHE));
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.importBatchSize = importBatchSize;
     }
 
+    // Tasks only need the owner's id for the foreign key and its username for responses, so a
+    // detached reference built from the cached summary stands in for the row. It is never merged.
     private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
+        UserSummary user = userService.findByUsername(username)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with username: " + username));
+        return User.builder()
+                .id(user.id())
+                .username(user.username())
+                .role(user.role())
+                .tokenVersion(user.tokenVersion())
+                .build();
     }
 
 
     @Override
     @Transactional
-    public TaskResponse createTask(TaskRequest taskRequest, String currentUsername) {
+    public TaskResponse createTask(TaskRequest taskRequest, String currentUsername, boolean rejectConflicts) {
         User currentUser = getUserByUsername(currentUsername);
+        if (rejectConflicts) {
+            userService.lock(currentUser.getId());
+            checkConflicts(currentUser, taskRequest, null);
+        }
 
         Task task = Task.builder()
                 .taskName(taskRequest.getTaskName())
@@ -46,64 +169,862 @@ public class TaskServiceImpl implements TaskService {
                 .taskDate(taskRequest.getTaskDate())
                 .durationInHour(taskRequest.getDurationInHour())
                 .build();
-        Task savedTask = taskRepository.save(task);
-        return mapTaskToResponse(savedTask);
+        TaskResponse savedTask = mapTaskToResponse(taskRepository.save(task));
+        taskStats.apply(new TaskStatsChanges().add(task));
+        publishChange(TaskChangeType.CREATED, savedTask);
+        return savedTask;
     }
 
     @Override
     @Transactional
-    public TaskResponse updateTask(UUID taskId, TaskRequest taskRequest, String currentUsername) {
+    public TaskResponse updateTask(UUID taskId, TaskRequest taskRequest, String currentUsername, Long expectedVersion,
+                                   boolean rejectConflicts) {
         User currentUser = getUserByUsername(currentUsername);
-        Task taskToUpdate = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
 
-        if (!taskToUpdate.getUser().getUsername().equals(currentUsername) && currentUser.getRole() != Role.ADMIN) {
-            throw new AccessDeniedException("You are not authorized to update this task.");
+        if (currentUser.getRole() != Role.ADMIN) {
+            // Taken first by every write to existing tasks, so the stats delta is read against stable rows.
+            userService.lock(currentUser.getId());
+            List<TaskStatsDelta> previous = statsRepository.findByUserIdAndTaskIdIn(currentUser.getId(), List.of(taskId));
+            int updated = taskRepository.updateByTaskIdAndOwner(taskId, currentUsername,
+                    taskRequest.getTaskName(), taskRequest.getTaskDescription(),
+                    taskRequest.getTaskDate(), taskRequest.getDurationInHour(), expectedVersion);
+            if (updated == 0) {
+                TaskResponse currentTask = taskRepository.findResponseByTaskId(taskId)
+                        .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+                if (!currentTask.getUsername().equals(currentUsername)) {
+                    throw new AccessDeniedException("You are not authorized to update this task.");
+                }
+                throw versionConflict(taskId, currentTask.getVersion());
+            }
+            // Checked after the update so a task of another user is reported as such; a conflict rolls it back.
+            if (rejectConflicts) {
+                checkConflicts(currentUser, taskRequest, taskId);
+            }
+            long version = expectedVersion != null
+                    ? expectedVersion + 1
+                    : taskRepository.findVersionByTaskId(taskId).orElseThrow();
+            TaskResponse updatedTask = TaskResponse.builder()
+                    .taskId(taskId)
+                    .taskName(taskRequest.getTaskName())
+                    .taskDescription(taskRequest.getTaskDescription())
+                    .username(currentUsername)
+                    .taskDate(taskRequest.getTaskDate())
+                    .durationInHour(taskRequest.getDurationInHour())
+                    .version(version)
+                    .build();
+            taskStats.apply(new TaskStatsChanges().removeAll(previous)
+                    .add(currentUser.getId(), taskRequest.getTaskDate(), taskRequest.getDurationInHour()));
+            taskCache.evict(taskId);
+            publishChange(TaskChangeType.UPDATED, updatedTask);
+            return updatedTask;
         }
 
+        Task taskToUpdate = taskRepository.findWithUserByTaskId(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+        if (expectedVersion != null && !expectedVersion.equals(taskToUpdate.getVersion())) {
+            throw versionConflict(taskId, taskToUpdate.getVersion());
+        }
+        userService.lock(taskToUpdate.getUser().getId());
+        if (rejectConflicts) {
+            checkConflicts(taskToUpdate.getUser(), taskRequest, taskId);
+        }
+
+        // The version check on flush guarantees these are the values being replaced.
+        TaskStatsChanges statsChanges = new TaskStatsChanges().remove(taskToUpdate);
         taskToUpdate.setTaskName(taskRequest.getTaskName());
         taskToUpdate.setTaskDescription(taskRequest.getTaskDescription());
         taskToUpdate.setTaskDate(taskRequest.getTaskDate());
         taskToUpdate.setDurationInHour(taskRequest.getDurationInHour());
         
-        Task updatedTask = taskRepository.save(taskToUpdate);
-        return mapTaskToResponse(updatedTask);
+        // Flushed here so the response carries the incremented version.
+        TaskResponse updatedTask = mapTaskToResponse(taskRepository.saveAndFlush(taskToUpdate));
+        taskStats.apply(statsChanges.add(taskToUpdate));
+        taskCache.evict(taskId);
+        publishChange(TaskChangeType.UPDATED, updatedTask);
+        return updatedTask;
+    }
+
+    @Override
+    @Transactional
+    public BatchTaskResponse createTasks(List<TaskRequest> taskRequests, String currentUsername) {
+        checkBatchSize(taskRequests);
+        User currentUser = getUserByUsername(currentUsername);
+
+        BatchItemResult[] results = new BatchItemResult[taskRequests.size()];
+        List<Task> pendingTasks = new ArrayList<>(jdbcBatchSize);
+        List<Integer> pendingIndexes = new ArrayList<>(jdbcBatchSize);
+        TaskStatsChanges statsChanges = new TaskStatsChanges();
+
+        for (int i = 0; i < taskRequests.size(); i++) {
+            TaskRequest taskRequest = taskRequests.get(i);
+            List<String> errors = validate(taskRequest);
+            if (!errors.isEmpty()) {
+                results[i] = failedItem(i, errors);
+                continue;
+            }
+            pendingTasks.add(Task.builder()
+                    .taskName(taskRequest.getTaskName())
+                    .taskDescription(taskRequest.getTaskDescription())
+                    .user(currentUser)
+                    .taskDate(taskRequest.getTaskDate())
+                    .durationInHour(taskRequest.getDurationInHour())
+                    .build());
+            pendingIndexes.add(i);
+            if (pendingTasks.size() == jdbcBatchSize) {
+                insertBatch(pendingTasks, pendingIndexes, results, statsChanges);
+            }
+        }
+        insertBatch(pendingTasks, pendingIndexes, results, statsChanges);
+        taskStats.apply(statsChanges);
+        publishResync(currentUsername);
+        return toBatchResponse(results);
+    }
+
+    @Override
+    @Transactional
+    public BatchTaskResponse updateTasks(List<BatchTaskUpdateRequest> updateRequests, String currentUsername) {
+        checkBatchSize(updateRequests);
+        boolean admin = getUserByUsername(currentUsername).getRole() == Role.ADMIN;
+
+        BatchItemResult[] results = new BatchItemResult[updateRequests.size()];
+        List<Integer> pendingIndexes = new ArrayList<>(jdbcBatchSize);
+        Set<String> owners = new HashSet<>();
+        TaskStatsChanges statsChanges = new TaskStatsChanges();
+
+        for (int i = 0; i < updateRequests.size(); i++) {
+            List<String> errors = validate(updateRequests.get(i));
+            if (!errors.isEmpty()) {
+                results[i] = failedItem(i, errors);
+                continue;
+            }
+            pendingIndexes.add(i);
+            if (pendingIndexes.size() == jdbcBatchSize) {
+                updateBatch(updateRequests, pendingIndexes, results, currentUsername, admin, owners, statsChanges);
+            }
+        }
+        updateBatch(updateRequests, pendingIndexes, results, currentUsername, admin, owners, statsChanges);
+        taskStats.apply(statsChanges);
+        owners.forEach(this::publishResync);
+        return toBatchResponse(results);
+    }
+
+    /**
+     * Reads the body record by record and commits every {@code tasks.import.batch-size} valid
+     * tasks in their own transaction, so memory is bounded by the batch size rather than the file.
+     */
+    @Override
+    public TaskImportResponse importTasks(InputStream inputStream, TaskFileFormat format, String currentUsername) throws IOException {
+        TaskImporter importer = new TaskImporter(getUserByUsername(currentUsername));
+        if (format == TaskFileFormat.CSV) {
+            importCsv(inputStream, importer);
+        } else {
+            importNdjson(inputStream, importer);
+        }
+        importer.flush();
+        return importer.toResponse();
     }
 
     @Override
     @Transactional
     public void deleteTask(UUID taskId, String currentUsername) {
         User currentUser = getUserByUsername(currentUsername);
-        Task taskToDelete = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
 
-        if (!taskToDelete.getUser().getUsername().equals(currentUsername) && currentUser.getRole() != Role.ADMIN) {
-            throw new AccessDeniedException("You are not authorized to delete this task.");
+        String owner = currentUsername;
+        List<TaskStatsDelta> previous;
+        if (currentUser.getRole() == Role.ADMIN) {
+            // The owner is looked up first so the change can be published to them.
+            owner = taskRepository.findOwnerUsernamesByTaskIdIn(List.of(taskId)).stream().findFirst()
+                    .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+            userService.lock(getUserByUsername(owner).getId());
+            previous = statsRepository.findByTaskIdIn(List.of(taskId));
+            if (taskRepository.deleteByTaskId(taskId) == 0) {
+                throw new EntityNotFoundException("Task not found with id: " + taskId);
+            }
+        } else {
+            userService.lock(currentUser.getId());
+            previous = statsRepository.findByUserIdAndTaskIdIn(currentUser.getId(), List.of(taskId));
+            if (taskRepository.deleteByTaskIdAndOwner(taskId, currentUsername) == 0) {
+                throw notFoundOrDenied(taskId, "You are not authorized to delete this task.");
+            }
         }
-        taskRepository.delete(taskToDelete);
+        taskStats.apply(new TaskStatsChanges().removeAll(previous));
+        taskCache.evict(taskId);
+        eventPublisher.publishEvent(TaskChangeEvent.builder()
+                .type(TaskChangeType.DELETED)
+                .owner(owner)
+                .taskId(taskId)
+                .build());
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public TaskResponse getTaskById(UUID taskId, String currentUsername) {
+    @Transactional
+    public BulkDeleteResponse deleteTasks(BulkDeleteRequest deleteRequest, String currentUsername) {
+        List<UUID> taskIds = deleteRequest.getTaskIds();
+        boolean byIds = taskIds != null && !taskIds.isEmpty();
+        boolean byRange = deleteRequest.getFrom() != null || deleteRequest.getTo() != null;
+        if ((byIds ? 1 : 0) + (byRange ? 1 : 0) + (deleteRequest.isAll() ? 1 : 0) != 1) {
+            throw new IllegalArgumentException("Specify exactly one of taskIds, a from/to date range or all");
+        }
+
         User currentUser = getUserByUsername(currentUsername);
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
-        
-        if (!task.getUser().getUsername().equals(currentUsername) && currentUser.getRole() != Role.ADMIN) {
+        boolean admin = currentUser.getRole() == Role.ADMIN;
+        String owner = deleteRequest.getOwner();
+        if (owner != null && !owner.equals(currentUsername) && !admin) {
+            throw new AccessDeniedException("You are not authorized to delete tasks of another user.");
+        }
+        User targetUser = owner == null ? currentUser : getUserByUsername(owner);
+
+        int deleted;
+        List<String> affectedOwners = List.of(targetUser.getUsername());
+        List<TaskStatsDelta> previous;
+        if (byIds) {
+            checkBatchSize(taskIds);
+            // Admins are only confined to one owner when they name it explicitly.
+            if (admin && owner == null) {
+                affectedOwners = taskRepository.findOwnerUsernamesByTaskIdIn(taskIds);
+                statsRepository.lockUsers(statsRepository.findUserIdsByTaskIdIn(taskIds));
+                previous = statsRepository.findByTaskIdIn(taskIds);
+                deleted = taskRepository.deleteByTaskIdIn(taskIds);
+            } else {
+                userService.lock(targetUser.getId());
+                previous = statsRepository.findByUserIdAndTaskIdIn(targetUser.getId(), taskIds);
+                deleted = taskRepository.deleteByUserIdAndTaskIdIn(targetUser.getId(), taskIds);
+            }
+            taskIds.forEach(taskCache::evict);
+        } else if (byRange) {
+            if (deleteRequest.getFrom() == null || deleteRequest.getTo() == null
+                    || !deleteRequest.getFrom().isBefore(deleteRequest.getTo())) {
+                throw new IllegalArgumentException("Date range requires both from and to, with from before to");
+            }
+            userService.lock(targetUser.getId());
+            previous = statsRepository.sumByUserIdAndTaskDateBetween(targetUser.getId(), deleteRequest.getFrom(), deleteRequest.getTo());
+            deleted = taskRepository.deleteByUserIdAndTaskDateBetween(targetUser.getId(), deleteRequest.getFrom(), deleteRequest.getTo());
+        } else {
+            userService.lock(targetUser.getId());
+            previous = statsRepository.sumByUserId(targetUser.getId());
+            deleted = taskRepository.deleteAllByUserId(targetUser.getId());
+        }
+        taskStats.apply(new TaskStatsChanges().removeAll(previous));
+        // Range and owner-wide deletes never see the ids they remove, so drop every cached task.
+        if (!byIds && deleted > 0) {
+            taskCache.clear();
+        }
+        if (deleted > 0) {
+            affectedOwners.forEach(this::publishResync);
+        }
+        return new BulkDeleteResponse(deleted);
+    }
+
+    /**
+     * Read-through lookup. The cached response carries the owner, so a hit is authorized
+     * without touching the database; no transaction is opened so a hit holds no connection.
+     */
+    @Override
+    public TaskResponse getTaskById(UUID taskId, String currentUsername) {
+        TaskResponse task = taskCache.get(taskId, TaskResponse.class,
+                () -> taskRepository.findResponseByTaskId(taskId).orElse(null));
+        if (task == null) {
+            throw new EntityNotFoundException("Task not found with id: " + taskId);
+        }
+
+        if (!task.getUsername().equals(currentUsername) && getUserByUsername(currentUsername).getRole() != Role.ADMIN) {
             throw new AccessDeniedException("You are not authorized to view this task.");
         }
-        return mapTaskToResponse(task);
+        return task;
+    }
+
+    @Override
+    public String getCollectionVersion(String currentUsername) {
+        return collectionVersions.currentTag(currentUsername);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<TaskResponse> getAllTasks(String currentUsername, Pageable pageable) {
-        Page<Task> tasksPage = taskRepository.findByUser_Username(currentUsername, pageable);
-        return tasksPage.map(this::mapTaskToResponse);
+        // Checked here, as the repository's exception translation would turn the rejection into a 500.
+        pageable.getSort().forEach(order -> TaskSortField.fromProperty(order.getProperty()));
+        Long userId = getUserByUsername(currentUsername).getId();
+        List<TaskResponse> content = taskRepository.findResponsesByUserId(userId, pageable);
+        // The total is only looked up when the page alone does not tell it.
+        return PageableExecutionUtils.getPage(content, pageable, () -> taskStats.countTasks(userId));
+    }
+
+    /**
+     * Streams rows straight from a forward-only cursor to the response. Rows are DTO projections,
+     * so nothing accumulates in the persistence context and memory stays flat regardless of size.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(String currentUsername, TaskFileFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByUsername(currentUsername)) {
+            if (format == TaskFileFormat.CSV) {
+                writeCsv(tasks, outputStream);
+            } else {
+                writeNdjson(tasks, outputStream);
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSliceResponse getTasksAfter(String currentUsername, Sort sort, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1");
+        }
+        int limit = Math.min(size, MAX_SLICE_SIZE);
+
+        TaskCursor after = cursor != null && !cursor.isBlank() ? TaskCursor.decode(cursor) : null;
+        TaskSortField sortField;
+        Sort.Direction direction;
+        if (after != null) {
+            sortField = after.sortField();
+            direction = after.direction();
+        } else {
+            Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(TaskSortField.TASK_NAME.getProperty()));
+            sortField = TaskSortField.fromProperty(order.getProperty());
+            direction = order.getDirection();
+        }
+
+        // One extra row tells whether another slice follows without a COUNT query.
+        Long userId = getUserByUsername(currentUsername).getId();
+        List<TaskResponse> rows = taskRepository.findResponsesAfter(userId, sortField, direction, after, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<TaskResponse> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext
+                ? TaskCursor.after(content.get(content.size() - 1), sortField, direction).encode()
+                : null;
+
+        return TaskSliceResponse.builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Admin-only keyset listing across all users, ordered by taskDate. Owners are resolved to their
+     * id up front so the query filters on the indexed user_id column rather than joining on names.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSliceResponse getAllUsersTasksAfter(String currentUsername, TaskFilter filter, Sort sort, String cursor, int size) {
+        if (getUserByUsername(currentUsername).getRole() != Role.ADMIN) {
+            throw new AccessDeniedException("Only admins can list the tasks of all users.");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1");
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new IllegalArgumentException("Date range must have from before to");
+        }
+        if (filter.getMinDuration() != null && filter.getMaxDuration() != null && filter.getMinDuration() > filter.getMaxDuration()) {
+            throw new IllegalArgumentException("minDuration must not exceed maxDuration");
+        }
+        int limit = Math.min(size, MAX_SLICE_SIZE);
+        Long ownerId = filter.getOwner() != null ? getUserByUsername(filter.getOwner()).getId() : null;
+
+        TaskCursor after = cursor != null && !cursor.isBlank() ? TaskCursor.decode(cursor) : null;
+        Sort.Direction direction;
+        if (after != null) {
+            if (after.sortField() != TaskSortField.TASK_DATE) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            direction = after.direction();
+        } else {
+            Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(TaskSortField.TASK_DATE.getProperty()));
+            if (TaskSortField.fromProperty(order.getProperty()) != TaskSortField.TASK_DATE) {
+                throw new IllegalArgumentException("Tasks of all users can only be sorted by " + TaskSortField.TASK_DATE.getProperty());
+            }
+            direction = order.getDirection();
+        }
+
+        List<TaskResponse> rows = taskRepository.findAllResponsesAfter(ownerId, filter, direction, after, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<TaskResponse> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext
+                ? TaskCursor.after(content.get(content.size() - 1), TaskSortField.TASK_DATE, direction).encode()
+                : null;
+
+        return TaskSliceResponse.builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Ranks the caller's tasks with the in-memory index and loads only the requested page of hits.
+     * A hit deleted after ranking is dropped from the page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchResponse searchTasks(String currentUsername, String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (page < 0 || size < 1 || size > MAX_SEARCH_SIZE) {
+            throw new IllegalArgumentException("Page must be at least 0 and size between 1 and " + MAX_SEARCH_SIZE);
+        }
+        // In long: a large page would overflow int and pass the check.
+        if ((page + 1L) * size > MAX_SEARCH_WINDOW) {
+            throw new IllegalArgumentException("Only the first " + MAX_SEARCH_WINDOW + " search hits can be paged through");
+        }
+
+        TaskTextIndex.Result result = searchIndex.search(currentUsername, query, (page + 1) * size);
+        List<TaskTextIndex.Hit> pageHits = result.hits().subList(Math.min(page * size, result.hits().size()), result.hits().size());
+        Map<UUID, TaskResponse> tasks = pageHits.isEmpty() ? Map.of() : taskRepository
+                .findResponsesByTaskIdIn(pageHits.stream().map(TaskTextIndex.Hit::taskId).toList()).stream()
+                .collect(Collectors.toMap(TaskResponse::getTaskId, Function.identity()));
+
+        List<TaskSearchHit> hits = pageHits.stream()
+                .filter(hit -> tasks.containsKey(hit.taskId()))
+                .map(hit -> new TaskSearchHit(hit.score(), tasks.get(hit.taskId())))
+                .toList();
+        return TaskSearchResponse.builder()
+                .query(query)
+                .totalHits(result.totalHits())
+                .page(page)
+                .size(size)
+                .hits(hits)
+                .build();
+    }
+
+    /**
+     * Tasks overlapping [from, to), ordered by start. Tasks without a date are never scheduled.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksInRange(String currentUsername, LocalDateTime from, LocalDateTime to, int size) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Date range requires both from and to, with from before to");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1");
+        }
+        User currentUser = getUserByUsername(currentUsername);
+        return findOverlapping(currentUser.getId(), from, to, null, Math.min(size, MAX_SLICE_SIZE));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getConflicts(String currentUsername, LocalDateTime taskDate, int durationInHour, UUID excludeTaskId) {
+        if (taskDate == null || durationInHour < 1) {
+            throw new IllegalArgumentException("taskDate and a positive durationInHour are required");
+        }
+        User currentUser = getUserByUsername(currentUsername);
+        return findOverlapping(currentUser.getId(), taskDate, taskDate.plusHours(durationInHour), excludeTaskId, MAX_SLICE_SIZE);
+    }
+
+    /**
+     * Totals and, for a date range, one bucket per day or week in [from, to), including empty ones.
+     * Tasks count towards the day they start on; week buckets start on Monday.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getTaskStats(String currentUsername, LocalDate from, LocalDate to, TaskStatsGranularity granularity) {
+        if ((from == null) != (to == null) || (from != null && !from.isBefore(to))) {
+            throw new IllegalArgumentException("Date range requires both from and to, with from before to");
+        }
+        if (from != null && ChronoUnit.DAYS.between(from, to) > MAX_STATS_DAYS) {
+            throw new IllegalArgumentException("Date range can span at most " + MAX_STATS_DAYS + " days");
+        }
+        User currentUser = getUserByUsername(currentUsername);
+        TaskStatsDelta totals = taskStats.totals(currentUser.getId());
+
+        List<TaskStatsBucket> buckets = List.of();
+        if (from != null) {
+            Map<LocalDate, TaskStatsBucket> bucketsByStart = new LinkedHashMap<>();
+            for (LocalDate start = granularity.bucketStart(from); start.isBefore(to); start = granularity.nextBucket(start)) {
+                bucketsByStart.put(start, new TaskStatsBucket(start, 0, 0));
+            }
+            for (TaskStatsDelta day : taskStats.days(currentUser.getId(), from, to)) {
+                TaskStatsBucket bucket = bucketsByStart.get(granularity.bucketStart(day.day()));
+                bucket.setTaskCount(bucket.getTaskCount() + day.taskCount());
+                bucket.setHours(bucket.getHours() + day.hours());
+            }
+            buckets = new ArrayList<>(bucketsByStart.values());
+        }
+
+        return TaskStatsResponse.builder()
+                .username(currentUsername)
+                .taskCount(totals.taskCount())
+                .totalHours(totals.hours())
+                .from(from)
+                .to(to)
+                .granularity(from != null ? granularity : null)
+                .buckets(buckets)
+                .build();
+    }
+
+    // Callers hold the owner's lock, so no overlapping task can be written between check and write.
+    private void checkConflicts(User owner, TaskRequest taskRequest, UUID excludeTaskId) {
+        LocalDateTime start = taskRequest.getTaskDate();
+        if (start == null) {
+            return;
+        }
+        List<TaskResponse> conflicts = findOverlapping(owner.getId(), start, start.plusHours(taskRequest.getDurationInHour()),
+                excludeTaskId, MAX_REPORTED_CONFLICTS);
+        if (!conflicts.isEmpty()) {
+            throw new TaskConflictException(conflicts);
+        }
+    }
+
+    // The owner's longest task bounds how long before from an overlapping task can start.
+    private List<TaskResponse> findOverlapping(Long userId, LocalDateTime from, LocalDateTime to, UUID excludeTaskId, int limit) {
+        List<Integer> longest = taskRepository.findLongestDurationsByUserId(userId, Limit.of(1));
+        if (longest.isEmpty()) {
+            return List.of();
+        }
+        return taskRepository.findResponsesOverlapping(userId, from.minusHours(longest.get(0)), from, to,
+                excludeTaskId, Limit.of(limit));
+    }
+
+    private void insertBatch(List<Task> pendingTasks, List<Integer> pendingIndexes, BatchItemResult[] results,
+                             TaskStatsChanges statsChanges) {
+        if (pendingTasks.isEmpty()) {
+            return;
+        }
+        taskRepository.saveAll(pendingTasks);
+        pendingTasks.forEach(statsChanges::add);
+        taskRepository.flushAndClear();
+        for (int i = 0; i < pendingTasks.size(); i++) {
+            int index = pendingIndexes.get(i);
+            results[index] = succeededItem(index, mapTaskToResponse(pendingTasks.get(i)));
+        }
+        pendingTasks.clear();
+        pendingIndexes.clear();
+    }
+
+    private void updateBatch(List<BatchTaskUpdateRequest> updateRequests, List<Integer> pendingIndexes,
+                             BatchItemResult[] results, String currentUsername, boolean admin, Set<String> owners,
+                             TaskStatsChanges statsChanges) {
+        if (pendingIndexes.isEmpty()) {
+            return;
+        }
+        Set<UUID> taskIds = pendingIndexes.stream()
+                .map(index -> updateRequests.get(index).getTaskId())
+                .collect(Collectors.toSet());
+        Map<UUID, Task> tasksById = taskRepository.findAllWithUserByTaskIdIn(taskIds).stream()
+                .collect(Collectors.toMap(Task::getTaskId, Function.identity()));
+
+        Map<Integer, Task> updatedTasks = new HashMap<>();
+        Set<UUID> updatedIds = new HashSet<>();
+        for (int index : pendingIndexes) {
+            BatchTaskUpdateRequest updateRequest = updateRequests.get(index);
+            Task task = tasksById.get(updateRequest.getTaskId());
+            if (task == null) {
+                results[index] = failedItem(index, List.of("Task not found with id: " + updateRequest.getTaskId()));
+            } else if (!admin && !task.getUser().getUsername().equals(currentUsername)) {
+                results[index] = failedItem(index, List.of("You are not authorized to update this task."));
+            } else if (updateRequest.getVersion() != null && updateRequest.getVersion() != pendingVersion(task, updatedIds)) {
+                results[index] = failedItem(index, List.of(versionConflict(task.getTaskId(), pendingVersion(task, updatedIds)).getMessage()));
+            } else {
+                TaskRequest taskRequest = updateRequest.getTask();
+                statsChanges.remove(task);
+                task.setTaskName(taskRequest.getTaskName());
+                task.setTaskDescription(taskRequest.getTaskDescription());
+                task.setTaskDate(taskRequest.getTaskDate());
+                task.setDurationInHour(taskRequest.getDurationInHour());
+                statsChanges.add(task);
+                updatedTasks.put(index, task);
+                updatedIds.add(task.getTaskId());
+            }
+        }
+        // Owners are locked before the rows are written; the version check on flush covers the values read before.
+        statsRepository.lockUsers(updatedTasks.values().stream().map(task -> task.getUser().getId()).collect(Collectors.toSet()));
+        taskRepository.flushAndClear();
+
+        // Mapped after the flush so responses carry the incremented versions.
+        updatedTasks.forEach((index, task) -> {
+            TaskResponse updatedTask = mapTaskToResponse(task);
+            taskCache.evict(task.getTaskId());
+            owners.add(updatedTask.getUsername());
+            results[index] = succeededItem(index, updatedTask);
+        });
+        pendingIndexes.clear();
+    }
+
+    private void writeNdjson(Stream<TaskResponse> tasks, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = exportWriter.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        for (TaskResponse task : (Iterable<TaskResponse>) tasks::iterator) {
+            exportWriter.writeValue(generator, task);
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+
+    private void writeCsv(Stream<TaskResponse> tasks, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("taskId,taskName,taskDescription,username,taskDate,durationInHour\n");
+        for (TaskResponse task : (Iterable<TaskResponse>) tasks::iterator) {
+            writer.write(task.getTaskId().toString());
+            writer.write(',');
+            writer.write(csvField(task.getTaskName()));
+            writer.write(',');
+            writer.write(csvField(task.getTaskDescription()));
+            writer.write(',');
+            writer.write(csvField(task.getUsername()));
+            writer.write(',');
+            writer.write(task.getTaskDate() != null ? task.getTaskDate().toString() : "");
+            writer.write(',');
+            writer.write(Integer.toString(task.getDurationInHour()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void importNdjson(InputStream inputStream, TaskImporter importer) throws IOException {
+        try (MappingIterator<TaskRequest> records = importReader.readValues(inputStream)) {
+            long record = 0;
+            while (true) {
+                try {
+                    if (!records.hasNextValue()) {
+                        return;
+                    }
+                } catch (JsonProcessingException e) {
+                    importer.abort(record + 1, "Malformed JSON: " + e.getOriginalMessage());
+                    return;
+                }
+                record++;
+                try {
+                    importer.accept(record, records.nextValue());
+                } catch (JsonParseException e) {
+                    importer.abort(record, "Malformed JSON: " + e.getOriginalMessage());
+                    return;
+                } catch (JsonProcessingException e) {
+                    // Binding errors leave the parser at the bad record; the iterator skips past it.
+                    importer.reject(record, List.of(e.getOriginalMessage()));
+                }
+            }
+        }
+    }
+
+    private void importCsv(InputStream inputStream, TaskImporter importer) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String required : List.of("taskName", "taskDescription", "durationInHour")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header must contain column: " + required);
+            }
+        }
+
+        long record = 0;
+        while (true) {
+            List<String> fields;
+            try {
+                fields = reader.readRecord();
+            } catch (IOException e) {
+                importer.abort(record + 1, e.getMessage());
+                return;
+            }
+            if (fields == null) {
+                return;
+            }
+            record++;
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+
+            List<String> errors = new ArrayList<>();
+            TaskRequest taskRequest = TaskRequest.builder()
+                    .taskName(csvValue(fields, columns, "taskName"))
+                    .taskDescription(csvValue(fields, columns, "taskDescription"))
+                    .build();
+            String taskDate = csvValue(fields, columns, "taskDate");
+            if (taskDate != null && !taskDate.isBlank()) {
+                try {
+                    taskRequest.setTaskDate(LocalDateTime.parse(taskDate.trim()));
+                } catch (DateTimeParseException e) {
+                    errors.add("taskDate: Invalid date " + taskDate);
+                }
+            }
+            String durationInHour = csvValue(fields, columns, "durationInHour");
+            try {
+                taskRequest.setDurationInHour(Integer.parseInt(durationInHour != null ? durationInHour.trim() : ""));
+            } catch (NumberFormatException e) {
+                errors.add("durationInHour: Invalid number " + durationInHour);
+            }
+
+            if (errors.isEmpty()) {
+                importer.accept(record, taskRequest);
+            } else {
+                importer.reject(record, errors);
+            }
+        }
+    }
+
+    private static String csvValue(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index != null && index < fields.size() ? fields.get(index) : null;
+    }
+
+    private class TaskImporter {
+        private final User owner;
+        private final List<Task> pendingTasks = new ArrayList<>();
+        private final List<TaskImportError> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+        private boolean aborted;
+
+        TaskImporter(User owner) {
+            this.owner = owner;
+        }
+
+        void accept(long record, TaskRequest taskRequest) {
+            List<String> violations = validate(taskRequest);
+            if (!violations.isEmpty()) {
+                reject(record, violations);
+                return;
+            }
+            pendingTasks.add(Task.builder()
+                    .taskName(taskRequest.getTaskName())
+                    .taskDescription(taskRequest.getTaskDescription())
+                    .user(owner)
+                    .taskDate(taskRequest.getTaskDate())
+                    .durationInHour(taskRequest.getDurationInHour())
+                    .build());
+            if (pendingTasks.size() >= importBatchSize) {
+                flush();
+            }
+        }
+
+        void reject(long record, List<String> violations) {
+            rejected++;
+            if (errors.size() < MAX_IMPORT_ERRORS) {
+                errors.add(new TaskImportError(record, violations));
+            }
+        }
+
+        void abort(long record, String reason) {
+            aborted = true;
+            reject(record, List.of(reason));
+        }
+
+        void flush() {
+            if (pendingTasks.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                taskRepository.saveAll(pendingTasks);
+                taskRepository.flushAndClear();
+                TaskStatsChanges statsChanges = new TaskStatsChanges();
+                pendingTasks.forEach(statsChanges::add);
+                taskStats.apply(statsChanges);
+                publishResync(owner.getUsername());
+            });
+            imported += pendingTasks.size();
+            pendingTasks.clear();
+        }
+
+        TaskImportResponse toResponse() {
+            return TaskImportResponse.builder()
+                    .imported(imported)
+                    .rejected(rejected)
+                    .aborted(aborted)
+                    .errors(errors)
+                    .build();
+        }
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items.size() > MAX_BATCH_ITEMS) {
+            throw new IllegalArgumentException("A batch can contain at most " + MAX_BATCH_ITEMS + " tasks");
+        }
+    }
+
+    private List<String> validate(Object item) {
+        if (item == null) {
+            return List.of("Task is required");
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private BatchItemResult succeededItem(int index, TaskResponse task) {
+        return BatchItemResult.builder()
+                .index(index)
+                .success(true)
+                .task(task)
+                .build();
+    }
+
+    private BatchItemResult failedItem(int index, List<String> errors) {
+        return BatchItemResult.builder()
+                .index(index)
+                .success(false)
+                .errors(errors)
+                .build();
+    }
+
+    private BatchTaskResponse toBatchResponse(BatchItemResult[] results) {
+        int succeeded = (int) Arrays.stream(results).filter(BatchItemResult::isSuccess).count();
+        return BatchTaskResponse.builder()
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    // An earlier item of the same batch already updated this task; the flush will bump it once.
+    private static long pendingVersion(Task task, Set<UUID> updatedIds) {
+        return updatedIds.contains(task.getTaskId()) ? task.getVersion() + 1 : task.getVersion();
+    }
+
+    private OptimisticLockingFailureException versionConflict(UUID taskId, long currentVersion) {
+        return new OptimisticLockingFailureException(
+                "Task " + taskId + " has been modified; current version is " + currentVersion);
+    }
+
+    // Listeners run after commit, so nobody observes a change that is later rolled back.
+    private void publishChange(TaskChangeType type, TaskResponse task) {
+        eventPublisher.publishEvent(TaskChangeEvent.builder()
+                .type(type)
+                .owner(task.getUsername())
+                .taskId(task.getTaskId())
+                .task(task)
+                .build());
+    }
+
+    private void publishResync(String owner) {
+        eventPublisher.publishEvent(TaskChangeEvent.builder()
+                .type(TaskChangeType.RESYNC)
+                .owner(owner)
+                .build());
+    }
+
+    // Only reached when an ownership-scoped statement matched no rows.
+    private RuntimeException notFoundOrDenied(UUID taskId, String deniedMessage) {
+        if (!taskRepository.existsById(taskId)) {
+            return new EntityNotFoundException("Task not found with id: " + taskId);
+        }
+        return new AccessDeniedException(deniedMessage);
     }
 
-    private TaskResponse mapTaskToResponse(Task task) {
+    static TaskResponse mapTaskToResponse(Task task) {
         return TaskResponse.builder()
                 .taskId(task.getTaskId())
                 .taskName(task.getTaskName())
@@ -111,6 +1032,7 @@ public class TaskServiceImpl implements TaskService {
                 .username(task.getUser().getUsername())
                 .taskDate(task.getTaskDate())
                 .durationInHour(task.getDurationInHour())
+                .version(task.getVersion())
                 .build();
     }
 } 
\ No newline at end of file
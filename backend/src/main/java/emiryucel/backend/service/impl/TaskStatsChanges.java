@@ -0,0 +1,57 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.model.Task;
+import emiryucel.backend.model.dto.TaskStatsDelta;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Net change to the task stats made by one transaction, summed per user and day so a batch of
+ * thousands of tasks becomes one row update per day it touches.
+ */
+final class TaskStatsChanges {
+
+    private final Map<Key, long[]> sums = new HashMap<>();
+
+    TaskStatsChanges add(Task task) {
+        return add(task.getUser().getId(), task.getTaskDate(), task.getDurationInHour());
+    }
+
+    TaskStatsChanges add(Long userId, LocalDateTime taskDate, int durationInHour) {
+        return merge(userId, taskDate != null ? taskDate.toLocalDate() : null, 1, durationInHour);
+    }
+
+    TaskStatsChanges remove(Task task) {
+        return merge(task.getUser().getId(), task.getTaskDate() != null ? task.getTaskDate().toLocalDate() : null,
+                -1, -task.getDurationInHour());
+    }
+
+    TaskStatsChanges removeAll(List<TaskStatsDelta> existing) {
+        existing.forEach(sum -> merge(sum.userId(), sum.day(), -sum.taskCount(), -sum.hours()));
+        return this;
+    }
+
+    // Updates that left a task on the same day with the same duration cancel out entirely.
+    List<TaskStatsDelta> toDeltas() {
+        return sums.entrySet().stream()
+                .filter(entry -> entry.getValue()[0] != 0 || entry.getValue()[1] != 0)
+                .map(entry -> new TaskStatsDelta(entry.getKey().userId(), entry.getKey().day(),
+                        entry.getValue()[0], entry.getValue()[1]))
+                .toList();
+    }
+
+    private TaskStatsChanges merge(Long userId, LocalDate day, long taskCount, long hours) {
+        long[] sum = sums.computeIfAbsent(new Key(Objects.requireNonNull(userId), day), key -> new long[2]);
+        sum[0] += taskCount;
+        sum[1] += hours;
+        return this;
+    }
+
+    private record Key(Long userId, LocalDate day) {
+    }
+}
@@ -0,0 +1,185 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.model.dto.TaskStatsDelta;
+import emiryucel.backend.repository.TaskRepository;
+import emiryucel.backend.repository.TaskStatsRepository;
+import emiryucel.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user task counts and planned hours, kept in summary tables so reading them costs the same
+ * whatever the number of tasks.
+ *
+ * <p>Every task write adds its delta inside its own transaction while holding the owner's user
+ * row lock, and writers read the rows they are about to change or delete only under that lock, so
+ * the delta always matches what commits. Writes that bypass {@link TaskServiceImpl}, such as the
+ * startup data, are picked up by a reconcile that recomputes each user under the same lock; until
+ * the first one has finished, reads are answered from the task table instead. A reconcile that
+ * corrects a user's rows bumps their collection version, so stats tagged before it stop matching.
+ */
+@Component
+public class TaskStatsRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsRegistry.class);
+
+    private final TaskStatsRepository statsRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TaskCollectionVersionRegistry collectionVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-stats-reconciler").daemon().factory());
+    private final long reconcileIntervalMillis;
+    private final Counter corrections;
+    private volatile boolean reconciled;
+
+    public TaskStatsRegistry(TaskStatsRepository statsRepository, TaskRepository taskRepository,
+                             UserRepository userRepository, TaskCollectionVersionRegistry collectionVersions,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                             @Value("${tasks.stats.reconcile-interval-ms:3600000}") long reconcileIntervalMillis) {
+        this.statsRepository = statsRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.collectionVersions = collectionVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+        this.corrections = Counter.builder("tasks.stats.corrections")
+                .description("Users whose stored task stats disagreed with their tasks during a reconcile")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs after the command line runners, so data seeded at startup is included.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startReconciling() {
+        reconciler.scheduleWithFixedDelay(this::reconcileAll, 0, reconcileIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    /**
+     * Must run inside the transaction that made the changes. Takes {@code select ... for update} on
+     * every affected owner's user row until commit, also for plain creates, so an owner's task
+     * writes are serialized: a reconcile that recomputed the sums while an uncommitted delta was
+     * pending would otherwise overwrite it. Callers that already hold the lock only pay the round trip.
+     */
+    void apply(TaskStatsChanges changes) {
+        List<TaskStatsDelta> deltas = changes.toDeltas();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        deltas.forEach(delta -> userIds.add(delta.userId()));
+        statsRepository.lockUsers(userIds);
+        statsRepository.add(deltas);
+    }
+
+    long countTasks(Long userId) {
+        if (!reconciled) {
+            return taskRepository.countByUser_Id(userId);
+        }
+        return statsRepository.findTotalsByUserId(userId).map(TaskStatsDelta::taskCount).orElse(0L);
+    }
+
+    TaskStatsDelta totals(Long userId) {
+        if (!reconciled) {
+            long taskCount = 0;
+            long hours = 0;
+            for (TaskStatsDelta sum : statsRepository.sumByUserId(userId)) {
+                taskCount += sum.taskCount();
+                hours += sum.hours();
+            }
+            return new TaskStatsDelta(userId, null, taskCount, hours);
+        }
+        return statsRepository.findTotalsByUserId(userId).orElse(new TaskStatsDelta(userId, null, 0, 0));
+    }
+
+    /**
+     * Sums of the days in [from, to) that have tasks, in day order.
+     */
+    List<TaskStatsDelta> days(Long userId, LocalDate from, LocalDate to) {
+        if (!reconciled) {
+            return statsRepository.sumByUserId(userId).stream()
+                    .filter(sum -> sum.day() != null && !sum.day().isBefore(from) && sum.day().isBefore(to))
+                    .sorted(Comparator.comparing(TaskStatsDelta::day))
+                    .toList();
+        }
+        return statsRepository.findDaysByUserIdAndDayBetween(userId, from, to);
+    }
+
+    void reconcileAll() {
+        long start = System.currentTimeMillis();
+        List<Long> userIds = statsRepository.findUserIds();
+        int corrected = 0;
+        for (Long userId : userIds) {
+            try {
+                if (reconcile(userId)) {
+                    corrected++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not reconcile task stats of user {}", userId, e);
+            }
+        }
+        // The first pass fills the tables from scratch, so only later passes count as drift.
+        if (reconciled) {
+            corrections.increment(corrected);
+        }
+        reconciled = true;
+        log.info("Reconciled task stats of {} users in {} ms, {} corrected",
+                userIds.size(), System.currentTimeMillis() - start, corrected);
+    }
+
+    private boolean reconcile(Long userId) {
+        boolean corrected = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            statsRepository.lockUsers(List.of(userId));
+            Set<TaskStatsDelta> actual = new HashSet<>(statsRepository.sumByUserId(userId));
+            if (actual.equals(stored(userId))) {
+                return false;
+            }
+            statsRepository.replace(userId, actual);
+            return true;
+        }));
+        if (corrected) {
+            userRepository.findUsernameById(userId).ifPresent(collectionVersions::bump);
+        }
+        return corrected;
+    }
+
+    // Stored sums in the shape sumByUserId returns, with undated tasks as the remainder of the totals.
+    private Set<TaskStatsDelta> stored(Long userId) {
+        List<TaskStatsDelta> days = statsRepository.findDaysByUserId(userId);
+        Set<TaskStatsDelta> stored = new HashSet<>(days);
+        TaskStatsDelta totals = statsRepository.findTotalsByUserId(userId).orElse(null);
+        if (totals != null) {
+            long taskCount = totals.taskCount() - days.stream().mapToLong(TaskStatsDelta::taskCount).sum();
+            long hours = totals.hours() - days.stream().mapToLong(TaskStatsDelta::hours).sum();
+            if (taskCount != 0 || hours != 0) {
+                stored.add(new TaskStatsDelta(userId, null, taskCount, hours));
+            }
+        }
+        return stored;
+    }
+}
@@ -0,0 +1,189 @@
+package emiryucel.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import emiryucel.backend.model.TaskChangeType;
+import emiryucel.backend.model.dto.TaskChangeEvent;
+import emiryucel.backend.service.TaskStreamService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user fan-out of committed task changes to SSE subscribers. Publishing only offers the
+ * pre-serialized event to each subscriber's bounded queue; writes to the socket happen on a
+ * virtual thread per draining subscriber, so a slow client never blocks the committing request.
+ * A subscriber whose queue is full is disconnected and resynchronizes when its client reconnects.
+ * Idle subscribers hold no thread, only the async request and an empty queue.
+ */
+@Service
+public class TaskStreamServiceImpl implements TaskStreamService {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-stream-", 0).factory());
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-stream-heartbeat").daemon().factory());
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Counter droppedSubscribers;
+
+    public TaskStreamServiceImpl(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                 @Value("${tasks.stream.buffer-size:64}") int bufferSize,
+                                 @Value("${tasks.stream.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${tasks.stream.heartbeat-interval-ms:25000}") long heartbeatIntervalMillis) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        Gauge.builder("tasks.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open task change streams")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("tasks.stream.dropped")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public SseEmitter subscribe(String username) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(username, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        // Added inside compute so a concurrent remove cannot drop the set this subscriber joins.
+        subscribers.compute(username, (key, ownerSubscribers) -> {
+            Set<Subscriber> updated = ownerSubscribers != null ? ownerSubscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriberCount.incrementAndGet();
+        // Whatever the client held before (re)connecting may be stale.
+        enqueue(subscriber, toSseEvent(TaskChangeEvent.builder().type(TaskChangeType.RESYNC).owner(username).build()));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        Set<Subscriber> ownerSubscribers = subscribers.get(event.getOwner());
+        if (ownerSubscribers == null || ownerSubscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> sseEvent = toSseEvent(event);
+        for (Subscriber subscriber : ownerSubscribers) {
+            enqueue(subscriber, sseEvent);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.values().forEach(ownerSubscribers -> ownerSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdown();
+    }
+
+    private void sendHeartbeats() {
+        subscribers.values().forEach(ownerSubscribers -> ownerSubscribers.forEach(subscriber -> enqueue(subscriber, HEARTBEAT)));
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> sseEvent) {
+        if (!subscriber.queue.offer(sseEvent)) {
+            if (remove(subscriber)) {
+                droppedSubscribers.increment();
+                subscriber.emitter.complete();
+            }
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                Set<DataWithMediaType> sseEvent;
+                while ((sseEvent = subscriber.queue.poll()) != null) {
+                    subscriber.emitter.send(sseEvent);
+                }
+                subscriber.draining.set(false);
+                // An event offered after the last poll but before the flag was cleared is ours to send.
+            } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed; the container cleans up the request.
+            remove(subscriber);
+        } catch (RuntimeException e) {
+            // Anything else would leave draining set, so no later offer could send again; end the
+            // stream instead, the client resynchronizes when it reconnects.
+            if (remove(subscriber)) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.username, (username, ownerSubscribers) -> {
+            ownerSubscribers.remove(subscriber);
+            return ownerSubscribers.isEmpty() ? null : ownerSubscribers;
+        });
+        return true;
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // Serialized once per change and shared by every subscriber of the owner.
+    private Set<DataWithMediaType> toSseEvent(TaskChangeEvent event) {
+        try {
+            return SseEmitter.event()
+                    .name(event.getType().name().toLowerCase())
+                    .data(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Subscriber {
+        private final String username;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(String username, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> queue) {
+            this.username = username;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
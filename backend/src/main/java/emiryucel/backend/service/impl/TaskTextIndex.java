@@ -0,0 +1,335 @@
+package emiryucel.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Inverted index over the names and descriptions of one user's tasks, ranked with BM25. A term in
+ * the name counts {@value #NAME_WEIGHT} times, so name matches outrank description matches.
+ *
+ * <p>Every query term has to match (AND), either exactly or as a prefix of an indexed term; prefix
+ * expansions score a little lower than exact matches. A query term expands to at most
+ * {@value #MAX_PREFIX_EXPANSIONS} indexed terms: itself if indexed, then those found in the most
+ * tasks. Tasks that only contain rarer expansions of a very short prefix are neither returned nor
+ * counted in the total. Removed tasks leave dead postings behind that are dropped once they
+ * outnumber the live ones.
+ *
+ * <p>Not thread-safe; {@link TaskSearchIndex} guards each instance with a read/write lock.
+ */
+final class TaskTextIndex {
+
+    static final int NAME_WEIGHT = 3;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.7;
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private UUID[] taskIds = new UUID[8];
+    private int[] lengths = new int[8];
+    private long[] versions = new long[8];
+    private int size;
+    private long totalLength;
+
+    /**
+     * Adds or replaces a task. Returns false when an equal or newer version is already indexed,
+     * so a late event cannot overwrite a more recent one.
+     */
+    boolean put(UUID taskId, long version, String taskName, String taskDescription) {
+        Integer existing = ordinals.get(taskId);
+        if (existing != null) {
+            if (versions[existing] >= version) {
+                return false;
+            }
+            kill(existing);
+        }
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTerms(frequencies, taskName, NAME_WEIGHT) + addTerms(frequencies, taskDescription, 1);
+        int ordinal = size++;
+        if (ordinal == taskIds.length) {
+            int capacity = ordinal + (ordinal >> 1);
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+        taskIds[ordinal] = taskId;
+        lengths[ordinal] = length;
+        versions[ordinal] = version;
+        ordinals.put(taskId, ordinal);
+        totalLength += length;
+        frequencies.forEach((term, frequency) -> terms.computeIfAbsent(term, key -> new Postings()).add(ordinal, frequency));
+        compactIfSparse();
+        return true;
+    }
+
+    boolean remove(UUID taskId) {
+        Integer ordinal = ordinals.get(taskId);
+        if (ordinal == null) {
+            return false;
+        }
+        kill(ordinal);
+        compactIfSparse();
+        return true;
+    }
+
+    void clear() {
+        terms.clear();
+        ordinals.clear();
+        taskIds = new UUID[8];
+        lengths = new int[8];
+        versions = new long[8];
+        size = 0;
+        totalLength = 0;
+    }
+
+    int size() {
+        return ordinals.size();
+    }
+
+    Result search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        int live = ordinals.size();
+        if (queryTerms.isEmpty() || live == 0) {
+            return new Result(List.of(), 0);
+        }
+
+        List<Expansion> expansions = new ArrayList<>(queryTerms.size());
+        for (String queryTerm : queryTerms) {
+            Expansion expansion = expand(queryTerm);
+            if (expansion.postingCount() == 0) {
+                return new Result(List.of(), 0);
+            }
+            expansions.add(expansion);
+        }
+        // Only documents of the rarest term can match them all, so it alone fills the accumulator.
+        expansions.sort(Comparator.comparingLong(Expansion::postingCount));
+
+        double averageLength = (double) totalLength / live;
+        Accumulator accumulator = new Accumulator(expansions.get(0).postingCount(), size);
+        for (int i = 0; i < expansions.size(); i++) {
+            Expansion expansion = expansions.get(i);
+            for (Map.Entry<String, Postings> entry : expansion.terms()) {
+                double weight = entry.getKey().length() == expansion.queryTerm().length() ? 1.0 : PREFIX_WEIGHT;
+                score(entry.getValue(), weight, i, live, averageLength, accumulator);
+            }
+        }
+
+        int required = expansions.size();
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, limit), Comparator.comparingDouble(Hit::score));
+        int totalHits = 0;
+        for (int slot = 0; slot < accumulator.keys.length; slot++) {
+            if (accumulator.keys[slot] == 0 || accumulator.matched[slot] != required) {
+                continue;
+            }
+            totalHits++;
+            double score = accumulator.scores[slot];
+            if (top.size() < limit) {
+                top.add(new Hit(taskIds[accumulator.keys[slot] - 1], score));
+            } else if (limit > 0 && score > top.peek().score()) {
+                top.poll();
+                top.add(new Hit(taskIds[accumulator.keys[slot] - 1], score));
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+        return new Result(hits, totalHits);
+    }
+
+    // The exact term sorts as the most frequent, so it is never the one dropped.
+    private Expansion expand(String queryTerm) {
+        PriorityQueue<Map.Entry<String, Postings>> kept = new PriorityQueue<>(MAX_PREFIX_EXPANSIONS + 1,
+                Comparator.comparingInt(entry -> entry.getKey().equals(queryTerm) ? Integer.MAX_VALUE : entry.getValue().size));
+        for (Map.Entry<String, Postings> entry : terms.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            kept.add(entry);
+            if (kept.size() > MAX_PREFIX_EXPANSIONS) {
+                kept.poll();
+            }
+        }
+        long postingCount = 0;
+        for (Map.Entry<String, Postings> entry : kept) {
+            postingCount += entry.getValue().size;
+        }
+        return new Expansion(queryTerm, new ArrayList<>(kept), postingCount);
+    }
+
+    private void score(Postings postings, double weight, int termIndex, int live, double averageLength,
+                       Accumulator accumulator) {
+        // Dead postings inflate the document frequency until the next compaction.
+        int documentFrequency = Math.min(postings.size, live);
+        double idf = Math.log(1 + (live - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        int[] entries = postings.entries;
+        for (int k = 0; k < postings.size; k++) {
+            int ordinal = entries[2 * k];
+            if (taskIds[ordinal] == null) {
+                continue;
+            }
+            int slot = accumulator.slot(ordinal, termIndex == 0);
+            if (slot < 0) {
+                continue;
+            }
+            int frequency = entries[2 * k + 1];
+            double norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+            accumulator.scores[slot] += weight * idf * frequency * (K1 + 1) / (frequency + norm);
+            // matched == i means the document matched each of the first i query terms.
+            if (accumulator.matched[slot] == termIndex) {
+                accumulator.matched[slot] = termIndex + 1;
+            }
+        }
+    }
+
+    private void kill(int ordinal) {
+        ordinals.remove(taskIds[ordinal]);
+        taskIds[ordinal] = null;
+        totalLength -= lengths[ordinal];
+    }
+
+    private void compactIfSparse() {
+        int live = ordinals.size();
+        if (size < MIN_COMPACTION_SIZE || size - live <= live) {
+            return;
+        }
+        int[] remap = new int[size];
+        int next = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (taskIds[ordinal] == null) {
+                remap[ordinal] = -1;
+                continue;
+            }
+            remap[ordinal] = next;
+            taskIds[next] = taskIds[ordinal];
+            lengths[next] = lengths[ordinal];
+            versions[next] = versions[ordinal];
+            ordinals.put(taskIds[next], next);
+            next++;
+        }
+        Arrays.fill(taskIds, next, size, null);
+        size = next;
+        terms.values().removeIf(postings -> postings.remap(remap) == 0);
+    }
+
+    private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = tokenize(text);
+        tokens.forEach(token -> frequencies.merge(token, weight, Integer::sum));
+        return tokens.size() * weight;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits; everything else separates terms.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                token.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    record Hit(UUID taskId, double score) {
+    }
+
+    record Result(List<Hit> hits, int totalHits) {
+    }
+
+    private record Expansion(String queryTerm, List<Map.Entry<String, Postings>> terms, long postingCount) {
+    }
+
+    /**
+     * Score and match count per candidate document. Few candidates go into an open-addressing map
+     * sized up front so it never resizes; when they cover a large part of the index, plain arrays
+     * indexed by ordinal are cheaper. Keys hold ordinal + 1, so zero marks a free slot.
+     */
+    private static final class Accumulator {
+
+        private final int[] keys;
+        private final double[] scores;
+        private final int[] matched;
+        private final boolean dense;
+        private final int mask;
+
+        Accumulator(long expectedEntries, int ordinals) {
+            dense = expectedEntries * 4 >= ordinals;
+            int capacity = dense ? ordinals : Integer.highestOneBit((int) Math.max(8, expectedEntries) * 2 - 1) << 1;
+            keys = new int[capacity];
+            scores = new double[capacity];
+            matched = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        int slot(int ordinal, boolean insert) {
+            int key = ordinal + 1;
+            int slot = dense ? ordinal : (key * 0x9E3779B9) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!insert) {
+                return -1;
+            }
+            keys[slot] = key;
+            return slot;
+        }
+    }
+
+    /**
+     * Ordinal and weighted term frequency pairs, packed into one array to keep millions of
+     * postings cheap.
+     */
+    private static final class Postings {
+
+        private int[] entries = new int[4];
+        private int size;
+
+        void add(int ordinal, int frequency) {
+            if (2 * size == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[2 * size] = ordinal;
+            entries[2 * size + 1] = frequency;
+            size++;
+        }
+
+        int remap(int[] remap) {
+            int kept = 0;
+            for (int k = 0; k < size; k++) {
+                int ordinal = remap[entries[2 * k]];
+                if (ordinal >= 0) {
+                    entries[2 * kept] = ordinal;
+                    entries[2 * kept + 1] = entries[2 * k + 1];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.config.CacheConfig;
+import emiryucel.backend.config.GuardedCache;
+import emiryucel.backend.model.User;
+import emiryucel.backend.model.dto.UserSummary;
+import emiryucel.backend.repository.UserRepository;
+import emiryucel.backend.service.UserService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+public class UserServiceImpl implements UserService {
+
+    private final UserRepository userRepository;
+    private final GuardedCache userCache;
+    private final GuardedCache tokenVersionCache;
+
+    public UserServiceImpl(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.userCache = new GuardedCache(
+                Objects.requireNonNull(cacheManager.getCache(CacheConfig.USERS_CACHE), "Missing cache: " + CacheConfig.USERS_CACHE));
+        this.tokenVersionCache = new GuardedCache(
+                Objects.requireNonNull(cacheManager.getCache(CacheConfig.TOKEN_VERSIONS_CACHE), "Missing cache: " + CacheConfig.TOKEN_VERSIONS_CACHE));
+    }
+
+    // Misses are not cached: users inserted past this service, such as the startup data that logins
+    // may race with, would otherwise stay unknown until the entry expires.
+    @Override
+    public Optional<UserSummary> findByUsername(String username) {
+        return Optional.ofNullable(userCache.get(username, UserSummary.class,
+                () -> userRepository.findByUsername(username).map(UserSummary::from).orElse(null)));
+    }
+
+    @Override
+    @Transactional
+    public User save(User user) {
+        // Tokens carry the role, so a role change revokes the ones already issued.
+        if (user.getId() != null && userRepository.findRoleById(user.getId())
+                .filter(storedRole -> storedRole != user.getRole()).isPresent()) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
+        userCache.evict(user.getUsername());
+        tokenVersionCache.evict(user.getUsername());
+        return userRepository.save(user);
+    }
+
+    @Override
+    public Optional<Integer> findTokenVersion(String username) {
+        return Optional.ofNullable(tokenVersionCache.get(username, Integer.class,
+                () -> userRepository.findTokenVersionByUsername(username).orElse(null)));
+    }
+
+    @Override
+    @Transactional
+    public void revokeTokens(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with username: " + username));
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userCache.evict(username);
+        tokenVersionCache.evict(username);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Long userId) {
+        userRepository.lockById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
+    }
+}
@@ -0,0 +1,24 @@
+create table _user (
+    id bigint generated by default as identity,
+    username varchar(255) not null,
+    password varchar(255),
+    role enum ('ADMIN', 'READER'),
+    primary key (id),
+    constraint uk_user_username unique (username)
+);
+
+create table task (
+    task_id uuid not null,
+    task_name varchar(255) not null,
+    task_description varchar(255) not null,
+    user_id bigint not null,
+    task_date timestamp(6),
+    duration_in_hour integer not null check (duration_in_hour >= 2),
+    primary key (task_id),
+    constraint fk_task_user foreign key (user_id) references _user (id)
+);
+
+-- Every task listing is scoped to one user and sorted by one of these columns.
+create index idx_task_user_date on task (user_id, task_date);
+create index idx_task_user_name on task (user_id, task_name);
+create index idx_task_user_duration on task (user_id, duration_in_hour);
@@ -0,0 +1,2 @@
+-- Optimistic locking version; also the source of task ETags.
+alter table task add column version bigint default 0 not null;
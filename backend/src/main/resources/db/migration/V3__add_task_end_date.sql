@@ -0,0 +1,6 @@
+-- End of the task's interval, computed by the database so every write path keeps it in step.
+alter table task add column task_end_date timestamp(6) generated always as (dateadd(hour, duration_in_hour, task_date));
+
+-- Interval lookups range-scan the start and filter on the end inside the index.
+drop index idx_task_user_date;
+create index idx_task_user_date on task (user_id, task_date, task_end_date);
@@ -0,0 +1,18 @@
+-- Per-user task totals, kept up to date by every task write and reconciled periodically against task.
+create table task_stats (
+    user_id bigint not null,
+    task_count bigint not null,
+    total_hours bigint not null,
+    primary key (user_id),
+    constraint fk_task_stats_user foreign key (user_id) references _user (id)
+);
+
+-- The same sums per day a task starts on; undated tasks only count towards task_stats.
+create table task_daily_stats (
+    user_id bigint not null,
+    task_day date not null,
+    task_count bigint not null,
+    total_hours bigint not null,
+    primary key (user_id, task_day),
+    constraint fk_task_daily_stats_user foreign key (user_id) references _user (id)
+);
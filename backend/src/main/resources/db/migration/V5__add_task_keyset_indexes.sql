@@ -0,0 +1,7 @@
+-- Keyset pages are ordered by task_date and then task_id; with task_id in the index, H2 reads pages
+-- in index order instead of sorting every matching row.
+drop index idx_task_user_date;
+create index idx_task_user_date on task (user_id, task_date, task_id, task_end_date);
+
+-- The admin listing spans all users, so it needs an index that does not lead with user_id.
+create index idx_task_date on task (task_date, task_id);
@@ -0,0 +1,2 @@
+-- Bumped to revoke every token issued to the user; tokens carry the version they were issued with.
+alter table _user add column token_version int default 0 not null;
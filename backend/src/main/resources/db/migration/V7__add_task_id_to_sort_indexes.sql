@@ -0,0 +1,6 @@
+-- Keyset pages sorted by name or duration break ties on task_id; with it in the index, H2 reads
+-- those pages in index order instead of sorting every task that shares a key.
+drop index idx_task_user_name;
+create index idx_task_user_name on task (user_id, task_name, task_id);
+drop index idx_task_user_duration;
+create index idx_task_user_duration on task (user_id, duration_in_hour, task_id);
@@ -0,0 +1,192 @@
+package emiryucel.backend.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the packaged application in a fresh JVM once per run and startup mode and measures the
+ * time from launching the process until it has answered a login request, which is what an
+ * autoscaled instance needs before it takes traffic. The latency of that first request is reported
+ * separately, so work moved out of startup into the first request still shows up.
+ *
+ * <p>Modes are {@code jvm} (plain jar), {@code lazy} (the lazy profile), {@code aot} (AOT-processed
+ * jar) and {@code aot-cds} (AOT plus the AppCDS archive); the last two need the extracted jar and
+ * archive in {@code startup.directory}. Options are passed as {@code --startup.runs=5
+ * --startup.modes=jvm,aot-cds}. Median times per mode are printed and written as JSON.
+ */
+public final class StartupTimer {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in [0-9.]+ seconds \\(process running for ([0-9.]+)\\)");
+    private static final String LOGIN_BODY = "{\"username\":\"reader\",\"password\":\"reader123\"}";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final Path jar;
+    private final Path directory;
+    private final int port;
+    private final Duration timeout;
+
+    private StartupTimer(Path jar, Path directory, int port, Duration timeout) {
+        this.jar = jar;
+        this.directory = directory;
+        this.port = port;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        Path jar = Path.of(option(options, "startup.jar", "target/backend-0.0.1-SNAPSHOT.jar"));
+        Path directory = Path.of(option(options, "startup.directory", "target/startup"));
+        int runs = Integer.parseInt(option(options, "startup.runs", "3"));
+        List<String> modes = Arrays.asList(option(options, "startup.modes", "jvm,lazy,aot,aot-cds").split(","));
+        int port = Integer.parseInt(option(options, "startup.port", "18080"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(option(options, "startup.timeout-seconds", "300")));
+        Path resultFile = Path.of(option(options, "startup.result-file", "target/startup-result.json"));
+
+        StartupTimer timer = new StartupTimer(jar, directory, port, timeout);
+        Map<String, List<Run>> results = new LinkedHashMap<>();
+        for (String mode : modes) {
+            List<Run> modeRuns = new ArrayList<>();
+            for (int i = 1; i <= runs; i++) {
+                Run run = timer.measure(mode, i);
+                System.out.printf("%-8s run %d: first response %7.0f ms, first request %5.0f ms, started after %7.0f ms%n",
+                        mode, i, run.firstResponseMillis(), run.firstRequestMillis(), run.startedMillis());
+                modeRuns.add(run);
+            }
+            results.put(mode, modeRuns);
+        }
+        report(results, resultFile);
+    }
+
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private Run measure(String mode, int runNumber) throws IOException, InterruptedException {
+        Path log = directory.resolve("logs").resolve(mode + "-" + runNumber + ".log");
+        Files.createDirectories(log.getParent());
+        ProcessBuilder builder = new ProcessBuilder(command(mode))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+
+        long launched = System.nanoTime();
+        Process process = builder.start();
+        try {
+            HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .timeout(timeout)
+                    .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                    .build();
+            long deadline = launched + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " exited with " + process.exitValue() + ", see " + log);
+                }
+                long sent = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = httpClient.send(login, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        long answered = System.nanoTime();
+                        return new Run(millis(answered - launched), millis(answered - sent), startedMillis(log));
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet.
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(mode + " did not answer within " + timeout.toSeconds() + " s, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private List<String> command(String mode) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Path extractedJar = directory.resolve(jar.getFileName());
+        switch (mode) {
+            case "jvm", "lazy" -> command.addAll(List.of("-jar", jar.toString()));
+            case "aot" -> command.addAll(List.of("-Dspring.aot.enabled=true", "-jar", extractedJar.toString()));
+            case "aot-cds" -> command.addAll(List.of("-XX:SharedArchiveFile=" + directory.resolve("application.jsa"),
+                    "-Dspring.aot.enabled=true", "-jar", extractedJar.toString()));
+            default -> throw new IllegalArgumentException("Unknown startup mode: " + mode);
+        }
+        if (mode.equals("lazy")) {
+            command.add("--spring.profiles.active=lazy");
+        }
+        command.add("--server.port=" + port);
+        command.add("--management.server.port=" + (port + 1));
+        return command;
+    }
+
+    // Spring's own figure for the JVM up to a refreshed context, or -1 if the line is missing.
+    private static double startedMillis(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) * 1000 : -1;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static void report(Map<String, List<Run>> results, Path resultFile) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode result = objectMapper.createObjectNode();
+        ObjectNode modes = result.putObject("modes");
+
+        System.out.printf("%-8s %5s %20s %18s %16s%n", "mode", "runs", "first response ms", "first request ms", "started ms");
+        for (Map.Entry<String, List<Run>> entry : results.entrySet()) {
+            List<Run> runs = entry.getValue();
+            double firstResponse = median(runs.stream().mapToDouble(Run::firstResponseMillis).toArray());
+            double firstRequest = median(runs.stream().mapToDouble(Run::firstRequestMillis).toArray());
+            double started = median(runs.stream().mapToDouble(Run::startedMillis).toArray());
+            modes.putObject(entry.getKey())
+                    .put("runs", runs.size())
+                    .put("firstResponse", firstResponse)
+                    .put("firstRequest", firstRequest)
+                    .put("started", started);
+            System.out.printf("%-8s %5d %20.0f %18.0f %16.0f%n", entry.getKey(), runs.size(), firstResponse, firstRequest, started);
+        }
+
+        if (resultFile.getParent() != null) {
+            Files.createDirectories(resultFile.getParent());
+        }
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile.toFile(), result);
+        System.out.println("Results written to " + resultFile.toAbsolutePath());
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private record Run(double firstResponseMillis, double firstRequestMillis, double startedMillis) {
+    }
+}
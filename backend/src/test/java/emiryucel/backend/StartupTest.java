@@ -0,0 +1,75 @@
+package emiryucel.backend;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time from the start of the context refresh to the first answered login, against a server on a
+ * random port, and the latency of that login on its own. Earlier test classes have already warmed
+ * the JVM, so cold-process figures per startup mode still come from {@code mvn -Pstartup verify};
+ * this catches startup work moving into the first request and a first login that fails because
+ * the startup data is not there yet.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StartupTest {
+
+    // Generous: the context that starts first in the test JVM also pays for class loading and JIT.
+    private static final Duration FIRST_RESPONSE_BUDGET = Duration.ofSeconds(120);
+    private static final String LOGIN_BODY = "{\"username\":\"reader\",\"password\":\"reader123\"}";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void firstLoginIsAnsweredPromptly() {
+        assertFirstLogin(restTemplate, context, Duration.ofSeconds(2));
+    }
+
+    // The lazy profile moves bean creation out of startup, so the first request is where it costs.
+    @Nested
+    @ActiveProfiles("lazy")
+    class Lazy {
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Autowired
+        private ApplicationContext context;
+
+        @Test
+        void firstLoginIsAnsweredPromptly() {
+            assertFirstLogin(restTemplate, context, Duration.ofSeconds(5));
+        }
+    }
+
+    private static void assertFirstLogin(TestRestTemplate restTemplate, ApplicationContext context, Duration firstRequestBudget) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        long sent = System.nanoTime();
+        ResponseEntity<String> response = restTemplate.postForEntity("/auth/login", new HttpEntity<>(LOGIN_BODY, headers), String.class);
+        Duration firstRequest = Duration.ofNanos(System.nanoTime() - sent);
+        Duration firstResponse = Duration.ofMillis(System.currentTimeMillis() - context.getStartupDate());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(firstRequest).isLessThan(firstRequestBudget);
+        assertThat(firstResponse).isLessThan(FIRST_RESPONSE_BUDGET);
+    }
+}
@@ -0,0 +1,175 @@
+package emiryucel.backend.controller;
+
+import emiryucel.backend.model.dto.TaskRequest;
+import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.security.JwtTokenProvider;
+import emiryucel.backend.service.TaskService;
+import emiryucel.backend.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional requests: collection ETags on the stats, and task versions in If-Match on updates.
+ * Spring ignores If-Match on GET, so the stats only answer If-None-Match.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerTest {
+
+    private static final String OWNER = "reader";
+    private static final String UPDATE = """
+            {"taskName":"Renamed","taskDescription":"Updated by the controller tests","durationInHour":2}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskService taskService;
+
+    private String authorization;
+    private TaskResponse task;
+
+    @BeforeEach
+    void setUp() {
+        authorization = "Bearer " + tokenProvider.generateToken(userService.findByUsername(OWNER).orElseThrow());
+        task = taskService.createTask(TaskRequest.builder()
+                .taskName("Conditional")
+                .taskDescription("Created by the controller tests")
+                .taskDate(LocalDateTime.of(2030, 1, 1, 9, 0))
+                .durationInHour(2)
+                .build(), OWNER, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskService.deleteTask(task.getTaskId(), OWNER);
+    }
+
+    @Test
+    void statsAreNotModifiedUntilATaskChanges() throws Exception {
+        String eTag = statsETag();
+
+        mockMvc.perform(get("/tasks/stats").header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        taskService.updateTask(task.getTaskId(), TaskRequest.builder()
+                .taskName("Longer")
+                .taskDescription("Created by the controller tests")
+                .taskDate(task.getTaskDate())
+                .durationInHour(5)
+                .build(), OWNER, null, false);
+
+        mockMvc.perform(get("/tasks/stats").header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    void wildcardIfMatchUpdatesAnyVersion() throws Exception {
+        mockMvc.perform(put("/tasks/{taskId}", task.getTaskId()).header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (task.getVersion() + 1) + "\""));
+    }
+
+    @Test
+    void weakOrUnquotedIfMatchIsRejected() throws Exception {
+        for (String ifMatch : List.of(String.valueOf(task.getVersion()), "W/\"" + task.getVersion() + "\"")) {
+            mockMvc.perform(put("/tasks/{taskId}", task.getTaskId()).header(HttpHeaders.AUTHORIZATION, authorization)
+                            .header(HttpHeaders.IF_MATCH, ifMatch)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(UPDATE))
+                    .andExpect(status().isBadRequest());
+        }
+        assertThat(taskService.getTaskById(task.getTaskId(), OWNER).getVersion()).isEqualTo(task.getVersion());
+    }
+
+    @Test
+    void updateWithStaleIfMatchIsRejected() throws Exception {
+        String stale = "\"" + (task.getVersion() + 1) + "\"";
+
+        mockMvc.perform(put("/tasks/{taskId}", task.getTaskId()).header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_MATCH, stale)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(taskService.getTaskById(task.getTaskId(), OWNER).getTaskName()).isEqualTo("Conditional");
+    }
+
+    @Test
+    void updateWithCurrentIfMatchReturnsTheNewVersion() throws Exception {
+        mockMvc.perform(put("/tasks/{taskId}", task.getTaskId()).header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_MATCH, "\"" + task.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (task.getVersion() + 1) + "\""))
+                .andExpect(jsonPath("$.taskName").value("Renamed"));
+    }
+
+    @Test
+    void overlappingCreateIsAConflictListingTheOverlaps() throws Exception {
+        mockMvc.perform(post("/tasks").param("rejectConflicts", "true").header(HttpHeaders.AUTHORIZATION, authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"taskName":"Overlapping","taskDescription":"Created by the controller tests",
+                                 "taskDate":"2030-01-01T10:00:00","durationInHour":2}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Task overlaps existing tasks"))
+                .andExpect(jsonPath("$.errors.length()").value(1))
+                .andExpect(jsonPath("$.errors[0]").value(
+                        "Overlaps task " + task.getTaskId() + " (Conditional) from 2030-01-01T09:00 for 2h"));
+    }
+
+    @Test
+    void listsSortOnlyByIndexedProperties() throws Exception {
+        mockMvc.perform(get("/tasks").param("sort", "durationInHour,desc").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/tasks").param("sort", "taskDescription").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value(
+                        "Unsupported sort property: taskDescription; sort by taskName, taskDate, durationInHour"));
+        mockMvc.perform(get("/tasks/cursor").param("sort", "version").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value(
+                        "Unsupported sort property: version; sort by taskName, taskDate, durationInHour"));
+    }
+
+    private String statsETag() throws Exception {
+        return mockMvc.perform(get("/tasks/stats").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
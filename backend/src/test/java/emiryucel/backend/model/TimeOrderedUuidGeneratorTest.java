@@ -0,0 +1,61 @@
+package emiryucel.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedUuidGeneratorTest {
+
+    private final TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+
+    @Test
+    void idsStayOrderedWithinOneMillisecond() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextUuid());
+        }
+
+        Set<Long> timestamps = new HashSet<>();
+        for (int i = 1; i < ids.size(); i++) {
+            UUID previous = ids.get(i - 1);
+            UUID current = ids.get(i);
+            // The database compares UUIDs as unsigned bytes, which the string form also follows.
+            assertThat(Long.compareUnsigned(previous.getMostSignificantBits(), current.getMostSignificantBits()))
+                    .as("%s before %s", previous, current)
+                    .isNegative();
+            assertThat(previous.toString()).isLessThan(current.toString());
+            timestamps.add(timestamp(current));
+        }
+        // Far fewer milliseconds than ids, so many ids shared one.
+        assertThat(timestamps.size()).isLessThan(ids.size() / 2);
+    }
+
+    @Test
+    void setsVersionAndVariantBits() {
+        for (int i = 0; i < 1000; i++) {
+            UUID id = generator.nextUuid();
+
+            assertThat(id.version()).isEqualTo(7);
+            assertThat(id.variant()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void leadsWithTheCurrentUnixMillisecond() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.nextUuid();
+        long after = System.currentTimeMillis();
+
+        assertThat(timestamp(id)).isBetween(before, after);
+    }
+
+    private static long timestamp(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,162 @@
+package emiryucel.backend.repository;
+
+import emiryucel.backend.model.TaskSortField;
+import emiryucel.backend.model.dto.TaskCursor;
+import emiryucel.backend.model.dto.TaskResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for the per-user listings and checks that H2 reads
+ * the composite index of the sort column in index order, rather than the foreign key index.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "emiryucel.backend.repository.TaskRepositoryTest$RecordingStatementInspector")
+@Transactional(readOnly = true)
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Long userId;
+
+    // H2 picks indexes by their selectivity, so the plans need enough users and tasks, analyzed, to
+    // match production; on a few seed rows it reads the foreign key index whatever the query.
+    @BeforeAll
+    static void seed(@Autowired DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("insert into _user (username, role) select 'planner' || x, 'READER' from system_range(1, 20)");
+            statement.execute("insert into task (task_id, task_name, task_description, user_id, task_date, duration_in_hour) "
+                    + "select random_uuid(), 'Task ' || x, 'Planned', u.id, "
+                    + "case when mod(x, 9) = 0 then null else dateadd(hour, x, timestamp '2024-01-01 00:00:00') end, 2 + mod(x, 30) "
+                    + "from system_range(1, 10000) join _user u on u.username = 'planner' || (mod(x, 20) + 1)");
+            statement.execute("analyze");
+        }
+    }
+
+    // The database is shared with the other test contexts, whose startup jobs would read these rows.
+    @AfterAll
+    static void removeSeed(@Autowired DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            String plannerIds = "(select id from _user where username like 'planner%')";
+            statement.execute("delete from task_daily_stats where user_id in " + plannerIds);
+            statement.execute("delete from task_stats where user_id in " + plannerIds);
+            statement.execute("delete from task where user_id in " + plannerIds);
+            statement.execute("delete from _user where username like 'planner%'");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.findByUsername("planner1").orElseThrow().getId();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void pageSortedByNameReadsNameIndex() throws SQLException {
+        taskRepository.findResponsesByUserId(userId, PageRequest.of(2, 10, Sort.by("taskName")));
+        assertReadsInOrder("IDX_TASK_USER_NAME");
+    }
+
+    @Test
+    void pageSortedByDurationReadsDurationIndex() throws SQLException {
+        taskRepository.findResponsesByUserId(userId, PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "durationInHour")));
+        assertReadsInOrder("IDX_TASK_USER_DURATION");
+    }
+
+    @Test
+    void keysetByNameReadsNameIndex() throws SQLException {
+        List<TaskResponse> first = taskRepository.findResponsesAfter(userId, TaskSortField.TASK_NAME, Sort.Direction.ASC, null, 5);
+        assertReadsInOrder("IDX_TASK_USER_NAME");
+
+        RecordingStatementInspector.STATEMENTS.clear();
+        TaskCursor after = TaskCursor.after(first.get(first.size() - 1), TaskSortField.TASK_NAME, Sort.Direction.ASC);
+        taskRepository.findResponsesAfter(userId, TaskSortField.TASK_NAME, Sort.Direction.ASC, after, 5);
+        assertReadsInOrder("IDX_TASK_USER_NAME");
+    }
+
+    @Test
+    void keysetByDurationReadsDurationIndex() throws SQLException {
+        List<TaskResponse> first = taskRepository.findResponsesAfter(userId, TaskSortField.DURATION_IN_HOUR, Sort.Direction.DESC, null, 5);
+        TaskCursor after = TaskCursor.after(first.get(first.size() - 1), TaskSortField.DURATION_IN_HOUR, Sort.Direction.DESC);
+
+        RecordingStatementInspector.STATEMENTS.clear();
+        taskRepository.findResponsesAfter(userId, TaskSortField.DURATION_IN_HOUR, Sort.Direction.DESC, after, 5);
+        assertReadsInOrder("IDX_TASK_USER_DURATION");
+    }
+
+    @Test
+    void keysetByDateReadsDateIndex() throws SQLException {
+        List<TaskResponse> first = taskRepository.findResponsesAfter(userId, TaskSortField.TASK_DATE, Sort.Direction.DESC, null, 5);
+        TaskCursor after = TaskCursor.after(first.get(first.size() - 1), TaskSortField.TASK_DATE, Sort.Direction.DESC);
+
+        RecordingStatementInspector.STATEMENTS.clear();
+        taskRepository.findResponsesAfter(userId, TaskSortField.TASK_DATE, Sort.Direction.DESC, after, 5);
+        assertReadsInOrder("IDX_TASK_USER_DATE");
+    }
+
+    private void assertReadsInOrder(String index) throws SQLException {
+        String plan = explain(lastTaskQuery());
+        assertThat(plan).contains("PUBLIC." + index + ":").contains("/* index sorted */");
+    }
+
+    private static String lastTaskQuery() {
+        List<String> statements = RecordingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.contains(" from task "))
+                .toList();
+        assertThat(statements).isNotEmpty();
+        return statements.get(statements.size() - 1);
+    }
+
+    // H2 plans a statement whose parameters are still unbound.
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("explain " + sql);
+             ResultSet plan = statement.executeQuery()) {
+            plan.next();
+            return plan.getString(1);
+        }
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package emiryucel.backend.security;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.User;
+import emiryucel.backend.repository.UserRepository;
+import emiryucel.backend.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashMap;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthenticationFilterTest {
+
+    // Revocations are permanent, so they are tried on a user of this test's own.
+    private static final String REVOKED = "revoked-admin";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void createUser() {
+        userService.save(User.builder().username(REVOKED).role(Role.ADMIN).build());
+    }
+
+    @AfterEach
+    void deleteUser() {
+        userRepository.findByUsername(REVOKED).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void acceptsTokensIssuedWithoutPrincipalClaims() throws Exception {
+        String token = tokenProvider.generateToken(new HashMap<>(), User.builder().username("reader").build());
+
+        mockMvc.perform(get("/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsTokensIssuedBeforeRevocation() throws Exception {
+        String token = tokenProvider.generateToken(userService.findByUsername(REVOKED).orElseThrow());
+        mockMvc.perform(get("/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        userService.revokeTokens(REVOKED);
+
+        mockMvc.perform(get("/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        String reissued = tokenProvider.generateToken(userService.findByUsername(REVOKED).orElseThrow());
+        mockMvc.perform(get("/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer " + reissued))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsTokensIssuedBeforeRoleChange() throws Exception {
+        String adminToken = tokenProvider.generateToken(userService.findByUsername(REVOKED).orElseThrow());
+
+        User demoted = userRepository.findByUsername(REVOKED).orElseThrow();
+        demoted.setRole(Role.READER);
+        userService.save(demoted);
+
+        mockMvc.perform(get("/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isUnauthorized());
+        String reissued = tokenProvider.generateToken(userService.findByUsername(REVOKED).orElseThrow());
+        mockMvc.perform(get("/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer " + reissued))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,44 @@
+package emiryucel.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final Function<String, Claims> verifier = token -> {
+        verifications.incrementAndGet();
+        return Jwts.claims()
+                .setSubject(token)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000));
+    };
+
+    @Test
+    void verifiesOncePerToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+
+        assertThat(verifications).hasValue(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void zeroSizeVerifiesEveryCall() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0);
+
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+
+        assertThat(verifications).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,66 @@
+package emiryucel.backend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void splitsPlainRecords() throws IOException {
+        assertThat(records("a,b,c\nd,e,f\n")).containsExactly(List.of("a", "b", "c"), List.of("d", "e", "f"));
+    }
+
+    @Test
+    void acceptsCrlfAndAMissingFinalLineBreak() throws IOException {
+        assertThat(records("a,b\r\nc,d")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(records(",a,,\n\n")).containsExactly(List.of("", "a", "", ""), List.of(""));
+    }
+
+    @Test
+    void quotedFieldsHoldCommasQuotesAndLineBreaks() throws IOException {
+        assertThat(records("\"a,b\",\"say \"\"hi\"\"\",\"line one\nline two\r\nline three\"\nnext\n")).containsExactly(
+                List.of("a,b", "say \"hi\"", "line one\nline two\r\nline three"),
+                List.of("next"));
+    }
+
+    @Test
+    void carriageReturnAtEndOfFileEndsTheLastRecord() throws IOException {
+        assertThat(records("a,b\rc\r")).containsExactly(List.of("a", "b"), List.of("c"));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(records("")).isEmpty();
+    }
+
+    @Test
+    void unterminatedQuoteFails() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\n\"open,field\nnever closed"));
+
+        assertThat(reader.readRecord()).containsExactly("a", "b");
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unterminated quoted field");
+    }
+
+    private static List<List<String>> records(String csv) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,150 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.dto.BulkDeleteRequest;
+import emiryucel.backend.model.dto.TaskFilter;
+import emiryucel.backend.model.dto.TaskRequest;
+import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.model.dto.TaskSliceResponse;
+import emiryucel.backend.service.TaskService;
+import emiryucel.backend.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pages through the admin listing one small slice at a time, across the boundary between undated
+ * and dated tasks and out to the earliest and latest dates a task can have.
+ */
+@SpringBootTest
+class TaskServiceAdminListingTest {
+
+    private static final String OWNER = "listing-owner";
+    private static final String ADMIN = "admin";
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 1, 9, 0);
+    // Database order: undated first, then by date, ties by id. UUIDs compare as unsigned, like their string form.
+    private static final Comparator<TaskResponse> ASCENDING = Comparator
+            .comparing(TaskResponse::getTaskDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(task -> task.getTaskId().toString());
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private List<TaskResponse> tasks;
+
+    @BeforeEach
+    void setUp() {
+        TestUsers.create(userService, OWNER, Role.READER);
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(create(null));
+            tasks.add(create(NINE));
+        }
+        tasks.add(create(NINE.plusHours(1)));
+        tasks.add(create(LocalDateTime.of(1, 1, 1, 0, 0)));
+        tasks.add(create(LocalDateTime.of(9999, 12, 31, 22, 0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskService.deleteTasks(BulkDeleteRequest.builder().all(true).build(), OWNER);
+    }
+
+    @AfterAll
+    static void removeOwner(@Autowired DataSource dataSource) {
+        TestUsers.delete(dataSource, OWNER);
+    }
+
+    @Test
+    void ascendingPagesCoverTheOwnerWithoutGapsOrDuplicates() {
+        List<TaskResponse> expected = tasks.stream().sorted(ASCENDING).toList();
+
+        for (int size = 1; size <= 4; size++) {
+            assertThat(pageAll(TaskFilter.builder().owner(OWNER).build(), Sort.Direction.ASC, size))
+                    .as("pages of %d", size)
+                    .containsExactlyElementsOf(ids(expected));
+        }
+    }
+
+    @Test
+    void descendingPagesCoverTheOwnerWithoutGapsOrDuplicates() {
+        List<TaskResponse> expected = tasks.stream().sorted(ASCENDING.reversed()).toList();
+
+        for (int size = 1; size <= 4; size++) {
+            assertThat(pageAll(TaskFilter.builder().owner(OWNER).build(), Sort.Direction.DESC, size))
+                    .as("pages of %d", size)
+                    .containsExactlyElementsOf(ids(expected));
+        }
+    }
+
+    @Test
+    void dateRangeSkipsUndatedTasks() {
+        TaskFilter filter = TaskFilter.builder().owner(OWNER).from(NINE).to(NINE.plusHours(2)).build();
+        List<TaskResponse> expected = tasks.stream()
+                .filter(task -> task.getTaskDate() != null && !task.getTaskDate().isBefore(NINE) && task.getTaskDate().isBefore(NINE.plusHours(2)))
+                .sorted(ASCENDING)
+                .toList();
+
+        assertThat(expected).hasSize(4);
+        assertThat(pageAll(filter, Sort.Direction.ASC, 3)).containsExactlyElementsOf(ids(expected));
+        assertThat(pageAll(filter, Sort.Direction.DESC, 3)).containsExactlyElementsOf(ids(expected).reversed());
+    }
+
+    @Test
+    void unfilteredPagesCoverEveryOwner() {
+        Long total = new JdbcTemplate(dataSource).queryForObject("select count(*) from task", Long.class);
+
+        List<UUID> ascending = pageAll(new TaskFilter(), Sort.Direction.ASC, 7);
+        List<UUID> descending = pageAll(new TaskFilter(), Sort.Direction.DESC, 7);
+
+        assertThat(ascending).hasSize(Math.toIntExact(total)).doesNotHaveDuplicates();
+        assertThat(descending).containsExactlyElementsOf(ascending.reversed());
+        assertThat(ascending.stream().filter(ids(tasks)::contains).toList())
+                .containsExactlyElementsOf(ids(tasks.stream().sorted(ASCENDING).toList()));
+    }
+
+    private List<UUID> pageAll(TaskFilter filter, Sort.Direction direction, int size) {
+        List<UUID> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskSliceResponse slice = taskService.getAllUsersTasksAfter(ADMIN, filter, Sort.by(direction, "taskDate"), cursor, size);
+            assertThat(slice.getContent().size()).isLessThanOrEqualTo(size);
+            ids.addAll(ids(slice.getContent()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private static List<UUID> ids(List<TaskResponse> tasks) {
+        return tasks.stream().map(TaskResponse::getTaskId).toList();
+    }
+
+    private TaskResponse create(LocalDateTime taskDate) {
+        return taskService.createTask(TaskRequest.builder()
+                .taskName("Listed task")
+                .taskDescription("Created by the admin listing tests")
+                .taskDate(taskDate)
+                .durationInHour(2)
+                .build(), OWNER, false);
+    }
+}
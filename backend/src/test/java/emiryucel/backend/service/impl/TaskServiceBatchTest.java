@@ -0,0 +1,138 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.dto.BatchItemResult;
+import emiryucel.backend.model.dto.BatchTaskResponse;
+import emiryucel.backend.model.dto.BatchTaskUpdateRequest;
+import emiryucel.backend.model.dto.BulkDeleteRequest;
+import emiryucel.backend.model.dto.TaskRequest;
+import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.service.TaskService;
+import emiryucel.backend.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch create and update, where every item succeeds or fails on its own.
+ */
+@SpringBootTest
+class TaskServiceBatchTest {
+
+    private static final String OWNER = "batch-owner";
+    private static final String OTHER = "reader";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        TestUsers.create(userService, OWNER, Role.READER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskService.deleteTasks(BulkDeleteRequest.builder().all(true).build(), OWNER);
+    }
+
+    @AfterAll
+    static void removeOwner(@Autowired DataSource dataSource) {
+        TestUsers.delete(dataSource, OWNER);
+    }
+
+    @Test
+    void createTasksRejectsInvalidItemsAndInsertsTheRest() {
+        BatchTaskResponse response = taskService.createTasks(List.of(
+                request("First batch task"), request("Too short", "short"), request("Third batch task")), OWNER);
+
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BatchItemResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(response.getResults().get(1).getErrors())
+                .containsExactly("taskDescription: Task description must be at least 10 characters");
+        assertThat(response.getResults().get(2).getTask().getTaskName()).isEqualTo("Third batch task");
+        assertThat(taskNames()).containsExactlyInAnyOrder("First batch task", "Third batch task");
+    }
+
+    @Test
+    void updateTasksRejectsStaleVersionsPerItem() {
+        TaskResponse first = taskService.createTask(request("First batch task"), OWNER, false);
+        TaskResponse second = taskService.createTask(request("Second batch task"), OWNER, false);
+
+        BatchTaskResponse response = taskService.updateTasks(List.of(
+                update(first, "First renamed", first.getVersion()),
+                update(second, "Second renamed", second.getVersion() + 1)), OWNER);
+
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getTask().getVersion()).isEqualTo(first.getVersion() + 1);
+        assertThat(response.getResults().get(1).getErrors()).containsExactly(
+                "Task " + second.getTaskId() + " has been modified; current version is " + second.getVersion());
+        assertThat(taskNames()).containsExactlyInAnyOrder("First renamed", "Second batch task");
+    }
+
+    @Test
+    void secondUpdateOfATaskInOneBatchExpectsTheVersionOfTheFirst() {
+        TaskResponse task = taskService.createTask(request("Batch task"), OWNER, false);
+
+        BatchTaskResponse response = taskService.updateTasks(List.of(
+                update(task, "Renamed once", task.getVersion()),
+                update(task, "Renamed from stale", task.getVersion()),
+                update(task, "Renamed twice", task.getVersion() + 1)), OWNER);
+
+        assertThat(response.getResults()).extracting(BatchItemResult::isSuccess).containsExactly(true, false, true);
+        assertThat(taskNames()).containsExactly("Renamed twice");
+    }
+
+    @Test
+    void updateTasksReportsMissingAndForeignTasks() {
+        TaskResponse foreign = taskService.createTask(request("Foreign batch task"), OTHER, false);
+        try {
+            BatchTaskResponse response = taskService.updateTasks(List.of(
+                    BatchTaskUpdateRequest.builder().taskId(UUID.randomUUID()).task(request("Missing")).build(),
+                    update(foreign, "Taken over", null)), OWNER);
+
+            assertThat(response.getFailed()).isEqualTo(2);
+            assertThat(response.getResults().get(0).getErrors().get(0)).startsWith("Task not found with id: ");
+            assertThat(response.getResults().get(1).getErrors()).containsExactly("You are not authorized to update this task.");
+            assertThat(taskService.getTaskById(foreign.getTaskId(), OTHER).getTaskName()).isEqualTo("Foreign batch task");
+        } finally {
+            taskService.deleteTask(foreign.getTaskId(), OTHER);
+        }
+    }
+
+    private List<String> taskNames() {
+        return taskService.getTasksAfter(OWNER, Sort.unsorted(), null, 100)
+                .getContent().stream().map(TaskResponse::getTaskName).toList();
+    }
+
+    private static BatchTaskUpdateRequest update(TaskResponse task, String name, Long version) {
+        return BatchTaskUpdateRequest.builder().taskId(task.getTaskId()).task(request(name)).version(version).build();
+    }
+
+    private static TaskRequest request(String name) {
+        return request(name, "Created by the batch tests");
+    }
+
+    private static TaskRequest request(String name, String description) {
+        return TaskRequest.builder()
+                .taskName(name)
+                .taskDescription(description)
+                .taskDate(LocalDateTime.of(2030, 1, 1, 9, 0))
+                .durationInHour(2)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.dto.BulkDeleteRequest;
+import emiryucel.backend.model.dto.TaskRequest;
+import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.service.TaskService;
+import emiryucel.backend.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bulk deletes by ids, by date range and of everything an owner has, as the owner and as an admin.
+ */
+@SpringBootTest
+class TaskServiceBulkDeleteTest {
+
+    private static final String OWNER = "bulk-owner";
+    private static final String OTHER = "bulk-other";
+    private static final String ADMIN = "admin";
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    private TaskResponse ownerNine;
+    private TaskResponse ownerTen;
+    private TaskResponse ownerEleven;
+    private TaskResponse ownerUndated;
+    private TaskResponse otherNine;
+
+    @BeforeEach
+    void setUp() {
+        TestUsers.create(userService, OWNER, Role.READER);
+        TestUsers.create(userService, OTHER, Role.READER);
+        ownerNine = create(OWNER, "Nine", NINE);
+        ownerTen = create(OWNER, "Ten", NINE.plusHours(1));
+        ownerEleven = create(OWNER, "Eleven", NINE.plusHours(2));
+        ownerUndated = create(OWNER, "Undated", null);
+        otherNine = create(OTHER, "Other nine", NINE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskService.deleteTasks(BulkDeleteRequest.builder().all(true).build(), OWNER);
+        taskService.deleteTasks(BulkDeleteRequest.builder().all(true).build(), OTHER);
+    }
+
+    @AfterAll
+    static void removeOwners(@Autowired DataSource dataSource) {
+        TestUsers.delete(dataSource, OWNER, OTHER);
+    }
+
+    @Test
+    void deleteByIdsSkipsTasksOfOtherUsers() {
+        int deleted = taskService.deleteTasks(BulkDeleteRequest.builder()
+                .taskIds(List.of(ownerNine.getTaskId(), otherNine.getTaskId())).build(), OWNER).getDeleted();
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(taskNames(OWNER)).containsExactlyInAnyOrder("Ten", "Eleven", "Undated");
+        assertThat(taskNames(OTHER)).containsExactly("Other nine");
+    }
+
+    @Test
+    void adminDeleteByIdsCrossesOwners() {
+        int deleted = taskService.deleteTasks(BulkDeleteRequest.builder()
+                .taskIds(List.of(ownerNine.getTaskId(), otherNine.getTaskId())).build(), ADMIN).getDeleted();
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(taskNames(OWNER)).containsExactlyInAnyOrder("Ten", "Eleven", "Undated");
+        assertThat(taskNames(OTHER)).isEmpty();
+    }
+
+    @Test
+    void adminDeleteByIdsOfANamedOwnerStaysWithThatOwner() {
+        int deleted = taskService.deleteTasks(BulkDeleteRequest.builder()
+                .taskIds(List.of(ownerNine.getTaskId(), otherNine.getTaskId())).owner(OTHER).build(), ADMIN).getDeleted();
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(taskNames(OWNER)).hasSize(4);
+        assertThat(taskNames(OTHER)).isEmpty();
+    }
+
+    @Test
+    void deleteByRangeIncludesFromAndExcludesTo() {
+        int deleted = taskService.deleteTasks(BulkDeleteRequest.builder()
+                .from(NINE).to(ownerEleven.getTaskDate()).build(), OWNER).getDeleted();
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(taskNames(OWNER)).containsExactlyInAnyOrder("Eleven", "Undated");
+        assertThat(taskNames(OTHER)).containsExactly("Other nine");
+    }
+
+    @Test
+    void deleteAllStaysWithTheCaller() {
+        int deleted = taskService.deleteTasks(BulkDeleteRequest.builder().all(true).build(), OWNER).getDeleted();
+
+        assertThat(deleted).isEqualTo(4);
+        assertThat(taskNames(OWNER)).isEmpty();
+        assertThat(taskNames(OTHER)).containsExactly("Other nine");
+    }
+
+    @Test
+    void adminDeletesAllOfANamedOwner() {
+        int deleted = taskService.deleteTasks(BulkDeleteRequest.builder().all(true).owner(OTHER).build(), ADMIN).getDeleted();
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(taskNames(OTHER)).isEmpty();
+        assertThat(taskNames(OWNER)).hasSize(4);
+    }
+
+    @Test
+    void readerCannotNameAnotherOwner() {
+        assertThatThrownBy(() -> taskService.deleteTasks(BulkDeleteRequest.builder().all(true).owner(OTHER).build(), OWNER))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(taskNames(OTHER)).containsExactly("Other nine");
+    }
+
+    @Test
+    void requestNamesExactlyOneSelection() {
+        assertThatThrownBy(() -> taskService.deleteTasks(BulkDeleteRequest.builder()
+                .taskIds(List.of(ownerTen.getTaskId())).all(true).build(), OWNER))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.deleteTasks(BulkDeleteRequest.builder().from(NINE).build(), OWNER))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.deleteTasks(BulkDeleteRequest.builder().build(), OWNER))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(taskNames(OWNER)).contains(ownerUndated.getTaskName()).hasSize(4);
+    }
+
+    private List<String> taskNames(String owner) {
+        return taskService.getTasksAfter(owner, Sort.unsorted(), null, 100)
+                .getContent().stream().map(TaskResponse::getTaskName).toList();
+    }
+
+    private TaskResponse create(String owner, String name, LocalDateTime taskDate) {
+        return taskService.createTask(TaskRequest.builder()
+                .taskName(name)
+                .taskDescription("Created by the bulk delete tests")
+                .taskDate(taskDate)
+                .durationInHour(2)
+                .build(), owner, false);
+    }
+}
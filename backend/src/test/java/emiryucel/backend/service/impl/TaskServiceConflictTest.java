@@ -0,0 +1,133 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.exception.TaskConflictException;
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.dto.BulkDeleteRequest;
+import emiryucel.backend.model.dto.TaskRequest;
+import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.service.TaskService;
+import emiryucel.backend.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Overlaps between [taskDate, taskDate + duration) intervals: touching ends, tasks spanning several
+ * days, and the look-back bounded by the owner's longest task.
+ */
+@SpringBootTest
+class TaskServiceConflictTest {
+
+    private static final String OWNER = "conflict-owner";
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 2, 9, 0);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        TestUsers.create(userService, OWNER, Role.READER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskService.deleteTasks(BulkDeleteRequest.builder().all(true).build(), OWNER);
+    }
+
+    @AfterAll
+    static void removeOwner(@Autowired DataSource dataSource) {
+        TestUsers.delete(dataSource, OWNER);
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        TaskResponse task = create("Nine to eleven", NINE, 2);
+
+        assertThat(conflicts(NINE.minusHours(2), 2)).isEmpty();
+        assertThat(conflicts(NINE.plusHours(2), 2)).isEmpty();
+        assertThat(conflicts(NINE.minusHours(1), 2)).containsExactly(task);
+        assertThat(conflicts(NINE.plusHours(1).plusMinutes(59), 2)).containsExactly(task);
+    }
+
+    @Test
+    void taskSpanningDaysOverlapsEveryDayItCovers() {
+        TaskResponse overnight = create("Overnight", NINE.withHour(20), 30);
+
+        assertThat(conflicts(NINE.plusDays(1).withHour(0), 2)).containsExactly(overnight);
+        assertThat(taskService.getTasksInRange(OWNER, NINE.plusDays(1).withHour(0), NINE.plusDays(1).withHour(1), 10))
+                .containsExactly(overnight);
+        assertThat(conflicts(NINE.plusDays(2).withHour(1), 2)).containsExactly(overnight);
+        assertThat(conflicts(NINE.plusDays(2).withHour(2), 2)).isEmpty();
+    }
+
+    @Test
+    void lookBackReachesTheLongestTask() {
+        TaskResponse longest = create("Two days", NINE.withHour(0).minusDays(1), 48);
+        TaskResponse shorter = create("Evening", NINE.withHour(21), 2);
+
+        assertThat(conflicts(NINE.withHour(22), 2)).containsExactly(longest, shorter);
+        assertThat(conflicts(NINE.plusDays(1).withHour(0), 2)).isEmpty();
+    }
+
+    @Test
+    void excludedTaskIsNotItsOwnConflict() {
+        TaskResponse task = create("Nine to eleven", NINE, 2);
+
+        assertThat(taskService.getConflicts(OWNER, NINE, 3, task.getTaskId())).isEmpty();
+    }
+
+    @Test
+    void rejectedCreateListsTheConflictsAndKeepsNothing() {
+        TaskResponse first = create("First", NINE, 2);
+        TaskResponse second = create("Second", NINE.plusHours(2), 2);
+
+        assertThatThrownBy(() -> taskService.createTask(request("Across both", NINE.plusHours(1), 2), OWNER, true))
+                .isInstanceOfSatisfying(TaskConflictException.class,
+                        e -> assertThat(e.getConflicts()).containsExactly(first, second));
+        assertThat(taskService.getTasksAfter(OWNER, Sort.unsorted(), null, 10).getContent()).hasSize(2);
+    }
+
+    @Test
+    void rejectedUpdateIgnoresTheTaskItself() {
+        TaskResponse first = create("First", NINE, 2);
+        TaskResponse second = create("Second", NINE.plusHours(2), 2);
+
+        TaskResponse moved = taskService.updateTask(first.getTaskId(), request("First", NINE.minusHours(1), 3), OWNER, null, true);
+        assertThat(moved.getTaskDate()).isEqualTo(NINE.minusHours(1));
+
+        assertThatThrownBy(() -> taskService.updateTask(first.getTaskId(), request("First", NINE, 3), OWNER, null, true))
+                .isInstanceOfSatisfying(TaskConflictException.class,
+                        e -> assertThat(e.getConflicts()).containsExactly(second));
+    }
+
+    private List<TaskResponse> conflicts(LocalDateTime taskDate, int durationInHour) {
+        return taskService.getConflicts(OWNER, taskDate, durationInHour, null);
+    }
+
+    private TaskResponse create(String name, LocalDateTime taskDate, int durationInHour) {
+        return taskService.createTask(request(name, taskDate, durationInHour), OWNER, false);
+    }
+
+    private static TaskRequest request(String name, LocalDateTime taskDate, int durationInHour) {
+        return TaskRequest.builder()
+                .taskName(name)
+                .taskDescription("Created by the conflict tests")
+                .taskDate(taskDate)
+                .durationInHour(durationInHour)
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package emiryucel.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.TaskFileFormat;
+import emiryucel.backend.model.dto.BulkDeleteRequest;
+import emiryucel.backend.model.dto.TaskImportResponse;
+import emiryucel.backend.model.dto.TaskRequest;
+import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.service.TaskService;
+import emiryucel.backend.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports an owner's tasks, including fields that need quoting or escaping, and imports the file
+ * into a second owner to check that nothing is lost or altered on the way.
+ */
+@SpringBootTest
+class TaskServiceExportTest {
+
+    private static final String OWNER = "export-owner";
+    private static final String COPY = "export-copy";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<TaskResponse> exported;
+
+    @BeforeEach
+    void setUp() {
+        TestUsers.create(userService, OWNER, Role.READER);
+        TestUsers.create(userService, COPY, Role.READER);
+        exported = List.of(
+                create("Plain task", "Nothing to escape here", LocalDateTime.of(2030, 1, 1, 9, 0), 2),
+                create("Plan \"Q1\", part 1", "Quotes, commas and \"more quotes\"", LocalDateTime.of(2030, 1, 2, 14, 30, 15), 3),
+                create("Multi-line", "First line\nsecond line,\r\nthird line\r", LocalDateTime.of(2030, 1, 3, 8, 0), 4),
+                create("Undated, unicode é ✓", "No date for this one", null, 5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskService.deleteTasks(BulkDeleteRequest.builder().all(true).build(), OWNER);
+        taskService.deleteTasks(BulkDeleteRequest.builder().all(true).build(), COPY);
+    }
+
+    @AfterAll
+    static void removeOwners(@Autowired DataSource dataSource) {
+        TestUsers.delete(dataSource, OWNER, COPY);
+    }
+
+    @Test
+    void ndjsonHoldsOneTaskPerLine() throws IOException {
+        String ndjson = export(TaskFileFormat.NDJSON);
+
+        List<TaskResponse> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            lines.add(objectMapper.readValue(line, TaskResponse.class));
+        }
+        assertThat(ndjson).endsWith("\n");
+        assertThat(lines).containsExactlyInAnyOrderElementsOf(exported);
+    }
+
+    @Test
+    void ndjsonRoundTrips() throws IOException {
+        assertRoundTrip(TaskFileFormat.NDJSON);
+    }
+
+    @Test
+    void csvRoundTrips() throws IOException {
+        assertRoundTrip(TaskFileFormat.CSV);
+    }
+
+    private void assertRoundTrip(TaskFileFormat format) throws IOException {
+        byte[] file = export(format).getBytes(StandardCharsets.UTF_8);
+
+        TaskImportResponse response = taskService.importTasks(new ByteArrayInputStream(file), format, COPY);
+
+        assertThat(response.getImported()).isEqualTo(exported.size());
+        assertThat(response.getRejected()).isZero();
+        assertThat(contents(COPY)).containsExactlyInAnyOrderElementsOf(contents(OWNER));
+    }
+
+    private String export(TaskFileFormat format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        taskService.exportTasks(OWNER, format, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    // Everything but the generated id, owner and version.
+    private List<TaskRequest> contents(String owner) {
+        return taskService.getTasksAfter(owner, Sort.unsorted(), null, 100).getContent().stream()
+                .map(task -> TaskRequest.builder()
+                        .taskName(task.getTaskName())
+                        .taskDescription(task.getTaskDescription())
+                        .taskDate(task.getTaskDate())
+                        .durationInHour(task.getDurationInHour())
+                        .build())
+                .toList();
+    }
+
+    private TaskResponse create(String name, String description, LocalDateTime taskDate, int durationInHour) {
+        return taskService.createTask(TaskRequest.builder()
+                .taskName(name)
+                .taskDescription(description)
+                .taskDate(taskDate)
+                .durationInHour(durationInHour)
+                .build(), OWNER, false);
+    }
+}
@@ -0,0 +1,147 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.config.CacheConfig;
+import emiryucel.backend.model.dto.TaskRequest;
+import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.repository.TaskRepository;
+import emiryucel.backend.service.TaskService;
+import emiryucel.backend.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Statements Hibernate prepares on the single-task paths, owner and admin, with the user cache
+ * warm. The summary table writes go through JDBC and are not part of these counts.
+ */
+@SpringBootTest
+class TaskServiceImplTest {
+
+    private static final String OWNER = "reader";
+    private static final String ADMIN = "admin";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private TaskResponse task;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userService.findByUsername(OWNER).orElseThrow();
+        userService.findByUsername(ADMIN).orElseThrow();
+        task = taskService.createTask(request("Counted task"), OWNER, false);
+        cacheManager.getCache(CacheConfig.TASKS_CACHE).clear();
+        statistics.clear();
+    }
+
+    // Not @Transactional: the cache evictions under test happen after commit. The database is
+    // shared with the other test classes, so the task is deleted through the service instead.
+    @AfterEach
+    void tearDown() {
+        if (taskRepository.existsById(task.getTaskId())) {
+            taskService.deleteTask(task.getTaskId(), OWNER);
+        }
+    }
+
+    @Test
+    void getTaskByIdAsOwner() {
+        taskService.getTaskById(task.getTaskId(), OWNER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        taskService.getTaskById(task.getTaskId(), OWNER);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void getTaskByIdAsAdmin() {
+        taskService.getTaskById(task.getTaskId(), ADMIN);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getTaskByIdAfterUpdateReloadsTask() {
+        taskService.getTaskById(task.getTaskId(), OWNER);
+        taskService.updateTask(task.getTaskId(), request("Renamed task"), OWNER, task.getVersion(), false);
+
+        // The update evicted the cached response once it committed.
+        statistics.clear();
+        TaskResponse reloaded = taskService.getTaskById(task.getTaskId(), OWNER);
+        assertThat(reloaded.getTaskName()).isEqualTo("Renamed task");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateTaskAsOwner() {
+        // Owner lock and the update; the new version follows from the expected one.
+        taskService.updateTask(task.getTaskId(), request("Renamed task"), OWNER, task.getVersion(), false);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        // Without an expected version it has to be read back.
+        statistics.clear();
+        taskService.updateTask(task.getTaskId(), request("Renamed again"), OWNER, null, false);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void updateTaskAsAdmin() {
+        // Task with its owner, owner lock and the update.
+        taskService.updateTask(task.getTaskId(), request("Renamed by admin"), ADMIN, task.getVersion(), false);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void deleteTaskAsOwner() {
+        // Owner lock and the delete.
+        taskService.deleteTask(task.getTaskId(), OWNER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void deleteTaskAsAdmin() {
+        // Owner name, owner lock and the delete.
+        taskService.deleteTask(task.getTaskId(), ADMIN);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void searchTasksBeyondWindowIsRejected() {
+        // (page + 1) * size is past Integer.MAX_VALUE.
+        assertThatThrownBy(() -> taskService.searchTasks(OWNER, "task", 21_474_836, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static TaskRequest request(String name) {
+        return TaskRequest.builder()
+                .taskName(name)
+                .taskDescription("Counts the statements of " + name)
+                .taskDate(LocalDateTime.now().plusDays(1))
+                .durationInHour(2)
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.TaskFileFormat;
+import emiryucel.backend.model.dto.BulkDeleteRequest;
+import emiryucel.backend.model.dto.TaskImportError;
+import emiryucel.backend.model.dto.TaskImportResponse;
+import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.service.TaskService;
+import emiryucel.backend.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Imports that mix valid and rejected records, end in a malformed record, or fail in the
+ * database part-way. Valid records are committed batch by batch, so what was committed before a
+ * failure stays.
+ */
+@SpringBootTest
+class TaskServiceImportTest {
+
+    private static final String OWNER = "import-owner";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Value("${tasks.import.batch-size}")
+    private int batchSize;
+
+    @BeforeEach
+    void setUp() {
+        TestUsers.create(userService, OWNER, Role.READER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskService.deleteTasks(BulkDeleteRequest.builder().all(true).build(), OWNER);
+    }
+
+    @AfterAll
+    static void removeOwner(@Autowired DataSource dataSource) {
+        TestUsers.delete(dataSource, OWNER);
+    }
+
+    @Test
+    void ndjsonRejectsInvalidRecordsAndImportsTheRest() throws IOException {
+        TaskImportResponse response = importTasks(TaskFileFormat.NDJSON, """
+                {"taskName":"First","taskDescription":"Imported from NDJSON","durationInHour":2}
+                {"taskName":"Wrong type","taskDescription":"Imported from NDJSON","durationInHour":"two"}
+                {"taskName":"Too short","taskDescription":"short","durationInHour":2}
+                {"taskName":"Last","taskDescription":"Imported from NDJSON","taskDate":"2030-01-01T09:00:00","durationInHour":3}
+                """);
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getRejected()).isEqualTo(2);
+        assertThat(response.isAborted()).isFalse();
+        assertThat(response.getErrors()).extracting(TaskImportError::getRecord).containsExactly(2L, 3L);
+        assertThat(taskNames()).containsExactlyInAnyOrder("First", "Last");
+    }
+
+    @Test
+    void malformedJsonAbortsAndKeepsTheRecordsBeforeIt() throws IOException {
+        TaskImportResponse response = importTasks(TaskFileFormat.NDJSON, """
+                {"taskName":"First","taskDescription":"Imported from NDJSON","durationInHour":2}
+                {"taskName":"Second","taskDescription":"Imported from NDJSON","durationInHour":2}
+                {"taskName":"Broken" "taskDescription":"Missing a comma"}
+                {"taskName":"After","taskDescription":"Imported from NDJSON","durationInHour":2}
+                """);
+
+        assertThat(response.isAborted()).isTrue();
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getErrors()).hasSize(1);
+        assertThat(response.getErrors().get(0).getRecord()).isEqualTo(3);
+        assertThat(taskNames()).containsExactlyInAnyOrder("First", "Second");
+    }
+
+    @Test
+    void csvReadsQuotedFieldsInAnyColumnOrder() throws IOException {
+        TaskImportResponse response = importTasks(TaskFileFormat.CSV, "durationInHour,taskDate,taskName,taskDescription\r\n"
+                + "2,,\"Plan, \"\"review\"\"\",\"Two lines,\nof description\"\r\n"
+                + "\r\n"
+                + "3,2030-01-01T09:00,Dated,Imported from CSV\r\n"
+                + "x,not a date,Bad values,Imported from CSV\r");
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getErrors()).hasSize(1);
+        assertThat(response.getErrors().get(0).getRecord()).isEqualTo(4);
+        assertThat(response.getErrors().get(0).getErrors())
+                .containsExactly("taskDate: Invalid date not a date", "durationInHour: Invalid number x");
+        List<TaskResponse> tasks = tasks();
+        assertThat(tasks).extracting(TaskResponse::getTaskName).containsExactlyInAnyOrder("Plan, \"review\"", "Dated");
+        assertThat(tasks).extracting(TaskResponse::getTaskDescription).contains("Two lines,\nof description");
+    }
+
+    @Test
+    void unterminatedCsvQuoteAbortsAndKeepsTheRecordsBeforeIt() throws IOException {
+        TaskImportResponse response = importTasks(TaskFileFormat.CSV, "taskName,taskDescription,durationInHour\n"
+                + "First,Imported from CSV,2\n"
+                + "\"Open,Imported from CSV,2\n"
+                + "Never read,Imported from CSV,2\n");
+
+        assertThat(response.isAborted()).isTrue();
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getErrors().get(0).getErrors()).containsExactly("Unterminated quoted field");
+        assertThat(taskNames()).containsExactly("First");
+    }
+
+    @Test
+    void csvWithoutRequiredColumnsImportsNothing() {
+        assertThatThrownBy(() -> importTasks(TaskFileFormat.CSV, "taskName,durationInHour\nFirst,2\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CSV header must contain column: taskDescription");
+        assertThat(taskNames()).isEmpty();
+    }
+
+    @Test
+    void failedBatchRollsBackAloneAndEarlierBatchesStay() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < batchSize; i++) {
+            ndjson.append("{\"taskName\":\"Task ").append(i).append("\",\"taskDescription\":\"Imported in the first batch\",\"durationInHour\":2}\n");
+        }
+        ndjson.append("{\"taskName\":\"Fits\",\"taskDescription\":\"Imported in the second batch\",\"durationInHour\":2}\n");
+        // Valid for the request, but longer than the column.
+        ndjson.append("{\"taskName\":\"").append("x".repeat(300)).append("\",\"taskDescription\":\"Imported in the second batch\",\"durationInHour\":2}\n");
+
+        assertThatThrownBy(() -> importTasks(TaskFileFormat.NDJSON, ndjson.toString()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(taskService.getTasksAfter(OWNER, Sort.unsorted(), null, batchSize + 10).getContent())
+                .hasSize(batchSize)
+                .noneMatch(task -> task.getTaskName().equals("Fits"));
+    }
+
+    private TaskImportResponse importTasks(TaskFileFormat format, String body) throws IOException {
+        return taskService.importTasks(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, OWNER);
+    }
+
+    private List<TaskResponse> tasks() {
+        return taskService.getTasksAfter(OWNER, Sort.unsorted(), null, 100).getContent();
+    }
+
+    private List<String> taskNames() {
+        return tasks().stream().map(TaskResponse::getTaskName).toList();
+    }
+}
@@ -0,0 +1,175 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.TaskFileFormat;
+import emiryucel.backend.model.dto.BatchItemResult;
+import emiryucel.backend.model.dto.BatchTaskUpdateRequest;
+import emiryucel.backend.model.dto.BulkDeleteRequest;
+import emiryucel.backend.model.dto.TaskRequest;
+import emiryucel.backend.model.dto.TaskResponse;
+import emiryucel.backend.model.dto.TaskStatsDelta;
+import emiryucel.backend.repository.TaskStatsRepository;
+import emiryucel.backend.service.TaskService;
+import emiryucel.backend.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stored task stats against sums recomputed from the task table, after every kind of task write
+ * and after a reconcile of rows changed behind the application's back.
+ */
+@SpringBootTest
+class TaskStatsRegistryTest {
+
+    private static final String OWNER = "stats-owner";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskStatsRegistry statsRegistry;
+
+    @Autowired
+    private TaskStatsRepository statsRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        TestUsers.create(userService, OWNER, Role.READER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskService.deleteTasks(BulkDeleteRequest.builder().all(true).build(), OWNER);
+    }
+
+    @AfterAll
+    static void removeOwner(@Autowired DataSource dataSource) {
+        TestUsers.delete(dataSource, OWNER);
+    }
+
+    @Test
+    void writesKeepStatsEqualToARecompute() throws IOException {
+        LocalDateTime nine = LocalDateTime.of(2030, 1, 1, 9, 0);
+        TaskResponse first = create(nine, 2);
+        TaskResponse second = create(nine.plusHours(3), 3);
+        TaskResponse undated = create(null, 4);
+        assertStatsMatchTasks();
+
+        taskService.updateTask(first.getTaskId(), request(nine.plusDays(1), 5), OWNER, null, false);
+        taskService.updateTask(undated.getTaskId(), request(nine, 2), OWNER, null, false);
+        taskService.updateTask(second.getTaskId(), request(null, 6), OWNER, null, false);
+        assertStatsMatchTasks();
+
+        List<TaskResponse> batch = taskService.createTasks(List.of(request(nine.plusDays(2), 2), request(null, 3)), OWNER)
+                .getResults().stream().map(BatchItemResult::getTask).toList();
+        taskService.updateTasks(List.of(
+                BatchTaskUpdateRequest.builder().taskId(batch.get(0).getTaskId()).task(request(null, 7)).build(),
+                BatchTaskUpdateRequest.builder().taskId(batch.get(1).getTaskId()).task(request(nine.plusDays(2), 8)).build()), OWNER);
+        assertStatsMatchTasks();
+
+        taskService.importTasks(new ByteArrayInputStream("""
+                {"taskName":"Imported","taskDescription":"Imported by the stats tests","taskDate":"2030-01-03T10:00:00","durationInHour":2}
+                {"taskName":"Imported","taskDescription":"Imported by the stats tests","durationInHour":3}
+                """.getBytes(StandardCharsets.UTF_8)), TaskFileFormat.NDJSON, OWNER);
+        assertStatsMatchTasks();
+
+        taskService.deleteTask(first.getTaskId(), OWNER);
+        taskService.deleteTasks(BulkDeleteRequest.builder().from(nine).to(nine.plusDays(2)).build(), OWNER);
+        assertStatsMatchTasks();
+
+        taskService.deleteTasks(BulkDeleteRequest.builder().all(true).build(), OWNER);
+        assertStatsMatchTasks();
+        assertThat(statsRepository.findDaysByUserId(userId())).isEmpty();
+    }
+
+    @Test
+    void reconcileRepairsDrift() {
+        LocalDateTime nine = LocalDateTime.of(2030, 1, 1, 9, 0);
+        create(nine, 2);
+        create(nine.plusDays(1), 3);
+        create(null, 4);
+        statsRegistry.reconcileAll();
+        double corrections = meterRegistry.get("tasks.stats.corrections").counter().count();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long userId = userId();
+        jdbcTemplate.update("update task_stats set total_hours = total_hours + 10 where user_id = ?", userId);
+        jdbcTemplate.update("delete from task_daily_stats where user_id = ? and task_day = ?", userId, nine.toLocalDate());
+        jdbcTemplate.update("insert into task_daily_stats (user_id, task_day, task_count, total_hours) values (?, ?, 1, 2)",
+                userId, nine.toLocalDate().plusDays(5));
+        statsRegistry.reconcileAll();
+
+        assertStatsMatchTasks();
+        assertThat(meterRegistry.get("tasks.stats.corrections").counter().count()).isEqualTo(corrections + 1);
+    }
+
+    @Test
+    void reconcileThatCorrectsStatsChangesTheCollectionTag() {
+        create(LocalDateTime.of(2030, 1, 1, 9, 0), 3);
+        statsRegistry.reconcileAll();
+        String before = taskService.getCollectionVersion(OWNER);
+
+        statsRegistry.reconcileAll();
+        assertThat(taskService.getCollectionVersion(OWNER)).isEqualTo(before);
+
+        new JdbcTemplate(dataSource).update("update task_stats set task_count = task_count + 5 "
+                + "where user_id = (select id from _user where username = ?)", OWNER);
+        statsRegistry.reconcileAll();
+
+        assertThat(taskService.getCollectionVersion(OWNER)).isNotEqualTo(before);
+    }
+
+    // The stored rows hold exactly what summing the task table gives: dated days, plus the totals.
+    private void assertStatsMatchTasks() {
+        Long userId = userId();
+        List<TaskStatsDelta> sums = statsRepository.sumByUserId(userId);
+
+        assertThat(statsRepository.findDaysByUserId(userId))
+                .containsExactlyInAnyOrderElementsOf(sums.stream().filter(sum -> sum.day() != null).toList());
+        assertThat(statsRepository.findTotalsByUserId(userId).orElse(new TaskStatsDelta(userId, null, 0, 0)))
+                .isEqualTo(new TaskStatsDelta(userId, null,
+                        sums.stream().mapToLong(TaskStatsDelta::taskCount).sum(),
+                        sums.stream().mapToLong(TaskStatsDelta::hours).sum()));
+    }
+
+    private Long userId() {
+        return userService.findByUsername(OWNER).orElseThrow().id();
+    }
+
+    private TaskResponse create(LocalDateTime taskDate, int durationInHour) {
+        return taskService.createTask(request(taskDate, durationInHour), OWNER, false);
+    }
+
+    private static TaskRequest request(LocalDateTime taskDate, int durationInHour) {
+        return TaskRequest.builder()
+                .taskName("Stats task")
+                .taskDescription("Created by the stats tests")
+                .taskDate(taskDate)
+                .durationInHour(durationInHour)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package emiryucel.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import emiryucel.backend.model.TaskChangeType;
+import emiryucel.backend.model.dto.TaskChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Fan-out to subscribers whose emitter blocks or fails on send, standing in for a client that
+ * stops reading and for a write that fails inside the container.
+ */
+class TaskStreamServiceImplTest {
+
+    private static final String OWNER = "reader";
+    private static final int BUFFER_SIZE = 2;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private RuntimeException sendFailure;
+
+    private final TaskStreamServiceImpl streamService = new TaskStreamServiceImpl(
+            new ObjectMapper(), meterRegistry, BUFFER_SIZE, 60_000, TimeUnit.HOURS.toMillis(1)) {
+        @Override
+        SseEmitter createEmitter(long timeoutMillis) {
+            return new RecordingEmitter(timeoutMillis);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        released.countDown();
+        streamService.shutdown();
+    }
+
+    @Test
+    void stalledSubscriberIsDroppedWhenItsBufferIsFull() throws InterruptedException {
+        streamService.subscribe(OWNER);
+        // The resync is being sent and blocks; the buffer then holds two more changes.
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < BUFFER_SIZE + 2; i++) {
+            streamService.onTaskChange(deleted());
+        }
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("tasks.stream.dropped").counter().count()).isEqualTo(1);
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void stalledSubscriberCatchesUpWithinItsBuffer() throws InterruptedException {
+        streamService.subscribe(OWNER);
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        streamService.onTaskChange(deleted());
+        streamService.onTaskChange(deleted());
+
+        released.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> sent.size() == 3);
+        assertThat(sent).containsExactly("resync", "deleted", "deleted");
+        assertThat(subscribers()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.stream.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void failedSendEndsTheStream() throws InterruptedException {
+        sendFailure = new HttpMessageNotWritableException("No converter");
+        released.countDown();
+
+        streamService.subscribe(OWNER);
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscribers()).isZero();
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("tasks.stream.subscribers").gauge().value();
+    }
+
+    private static TaskChangeEvent deleted() {
+        return TaskChangeEvent.builder().type(TaskChangeType.DELETED).owner(OWNER).taskId(UUID.randomUUID()).build();
+    }
+
+    private final class RecordingEmitter extends SseEmitter {
+
+        private RecordingEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            sending.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            if (sendFailure != null) {
+                throw sendFailure;
+            }
+            String event = items.iterator().next().getData().toString();
+            sent.add(event.substring("event:".length(), event.indexOf('\n')));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package emiryucel.backend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskTextIndexTest {
+
+    private final TaskTextIndex index = new TaskTextIndex();
+
+    @Test
+    void nameMatchesOutrankDescriptionMatches() {
+        UUID inDescription = put("Weekly sync", "Prepare the budget review");
+        UUID inName = put("Budget review", "Prepare the weekly sync");
+
+        assertThat(hitIds(index.search("budget", 10))).containsExactly(inName, inDescription);
+    }
+
+    @Test
+    void everyQueryTermHasToMatch() {
+        UUID both = put("Budget review", "Quarterly numbers");
+        put("Budget planning", "Quarterly numbers");
+        put("Code review", "Pull requests");
+
+        TaskTextIndex.Result result = index.search("review budget", 10);
+
+        assertThat(hitIds(result)).containsExactly(both);
+        assertThat(result.totalHits()).isEqualTo(1);
+        assertThat(index.search("budget missing", 10).hits()).isEmpty();
+    }
+
+    @Test
+    void exactMatchesOutrankPrefixMatches() {
+        UUID prefix = put("Planning", "Roadmap for next year");
+        UUID exact = put("Plan", "Roadmap for next year");
+
+        assertThat(hitIds(index.search("plan", 10))).containsExactly(exact, prefix);
+        assertThat(hitIds(index.search("PLA", 10))).containsExactlyInAnyOrder(exact, prefix);
+    }
+
+    @Test
+    void totalHitsCountsBeyondTheLimit() {
+        for (int i = 0; i < 5; i++) {
+            put("Report " + i, "Monthly report");
+        }
+
+        TaskTextIndex.Result result = index.search("report", 2);
+
+        assertThat(result.hits()).hasSize(2);
+        assertThat(result.totalHits()).isEqualTo(5);
+    }
+
+    @Test
+    void olderOrEqualVersionsAreIgnored() {
+        UUID taskId = UUID.randomUUID();
+        assertThat(index.put(taskId, 2, "Renamed", "Second version")).isTrue();
+
+        assertThat(index.put(taskId, 1, "Original", "First version")).isFalse();
+        assertThat(index.put(taskId, 2, "Original", "First version")).isFalse();
+        assertThat(index.search("original", 10).hits()).isEmpty();
+        assertThat(hitIds(index.search("renamed", 10))).containsExactly(taskId);
+
+        assertThat(index.put(taskId, 3, "Original", "Third version")).isTrue();
+        assertThat(index.search("renamed", 10).hits()).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void searchStaysCorrectAcrossCompaction() {
+        List<UUID> taskIds = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            taskIds.add(put("Task " + i, i % 2 == 0 ? "Even shared words" : "Odd shared words"));
+        }
+        // Removing three in four leaves dead postings outnumbering live ones, which compacts.
+        for (int i = 0; i < 2000; i++) {
+            if (i % 4 != 0) {
+                assertThat(index.remove(taskIds.get(i))).isTrue();
+            }
+        }
+        assertThat(index.remove(taskIds.get(1))).isFalse();
+
+        assertThat(index.size()).isEqualTo(500);
+        assertThat(index.search("shared", 1000).totalHits()).isEqualTo(500);
+        assertThat(index.search("odd", 10).hits()).isEmpty();
+        assertThat(hitIds(index.search("task 1996", 10))).containsExactly(taskIds.get(1996));
+        assertThat(index.search("task 1997", 10).hits()).isEmpty();
+
+        UUID added = put("Task added", "Odd shared words");
+        assertThat(hitIds(index.search("odd", 10))).containsExactly(added);
+    }
+
+    @Test
+    void prefixExpansionKeepsTheMostFrequentTerms() {
+        // The rare terms sort before the frequent one, so a cut in term order would drop it.
+        for (int i = 0; i <= TaskTextIndex.MAX_PREFIX_EXPANSIONS; i++) {
+            put("Rare", "Term pa%03d only here".formatted(i));
+        }
+        List<UUID> frequent = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            frequent.add(put("Frequent", "Term pazzz shared"));
+        }
+
+        TaskTextIndex.Result result = index.search("pa", 1000);
+
+        assertThat(hitIds(result)).containsAll(frequent);
+        assertThat(result.totalHits()).isEqualTo(frequent.size() + TaskTextIndex.MAX_PREFIX_EXPANSIONS - 1);
+    }
+
+    @Test
+    void prefixExpansionAlwaysKeepsTheExactTerm() {
+        UUID exact = put("Rare", "pa");
+        for (int i = 0; i < TaskTextIndex.MAX_PREFIX_EXPANSIONS; i++) {
+            put("Common", "pa%03d".formatted(i));
+            put("Common", "pa%03d".formatted(i));
+        }
+
+        assertThat(hitIds(index.search("pa", 1000))).contains(exact);
+    }
+
+    @Test
+    void tokenizeLowerCasesAndSplitsOnNonAlphanumerics() {
+        assertThat(TaskTextIndex.tokenize("Plan Q1: review-notes, ÉTÉ 2030!")).containsExactly("plan", "q1", "review", "notes", "été", "2030");
+        assertThat(TaskTextIndex.tokenize(null)).isEmpty();
+    }
+
+    private UUID put(String name, String description) {
+        UUID taskId = UUID.randomUUID();
+        index.put(taskId, 0, name, description);
+        return taskId;
+    }
+
+    private static List<UUID> hitIds(TaskTextIndex.Result result) {
+        return result.hits().stream().map(TaskTextIndex.Hit::taskId).toList();
+    }
+}
@@ -0,0 +1,35 @@
+package emiryucel.backend.service.impl;
+
+import emiryucel.backend.model.Role;
+import emiryucel.backend.model.User;
+import emiryucel.backend.service.UserService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Users of a single test class. The H2 database is shared by every test context, so each class
+ * works on owners of its own and removes them, with their tasks and stats rows, when it is done.
+ */
+final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    static void create(UserService userService, String username, Role role) {
+        if (userService.findByUsername(username).isEmpty()) {
+            userService.save(User.builder().username(username).role(role).build());
+        }
+    }
+
+    static void delete(DataSource dataSource, String... usernames) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String username : usernames) {
+            String userId = "(select id from _user where username = ?)";
+            jdbcTemplate.update("delete from task_daily_stats where user_id = " + userId, username);
+            jdbcTemplate.update("delete from task_stats where user_id = " + userId, username);
+            jdbcTemplate.update("delete from task where user_id = " + userId, username);
+            jdbcTemplate.update("delete from _user where username = ?", username);
+        }
+    }
+}